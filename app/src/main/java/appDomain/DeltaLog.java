@@ -0,0 +1,261 @@
+package appDomain;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * An append-only log of repository updates kept next to the base repository
+ * file. Each run appends one block holding only the words and occurrences it
+ * added, so saving costs as much as the new input rather than the whole
+ * repository. Loading replays the blocks over the base in order; compaction
+ * folds them into a new base and removes the log. Each block is a complete
+ * repository with its own key index, so queries map the blocks and look
+ * words up in each instead of reading the log.
+ *
+ * Every payload carries the checksum of the repository format, and appends
+ * are synced to disk before they count as saved. A run that crashes while
+ * appending leaves an incomplete block at the end of the log; that block is
+ * ignored when reading and cut off by the next append.
+ *
+ * The header records the checksum of the base the log applies to. If a crash
+ * between writing a compacted base and removing the log leaves the log
+ * behind, its checksum no longer matches, so it is skipped rather than
+ * applied twice and is reset by the next append. Replaying reports such a
+ * log as {@link #STALE} so that the caller can say it is being discarded.
+ *
+ * <pre>
+ * magic "WTLG", version byte, 4-byte base checksum
+ * per block: 4-byte payload length, payload in RepositoryFormat
+ * </pre>
+ *
+ * Version 1 logs have no base checksum and always apply.
+ */
+public final class DeltaLog {
+    private static final byte[] MAGIC = { 'W', 'T', 'L', 'G' };
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 1 + 4;
+
+    /** Returned by replay for a log that belongs to another base. */
+    public static final long STALE = -1;
+
+    private DeltaLog() {
+    }
+
+    /**
+     * Appends one block to the log, creating the log if needed, and syncs it
+     * to disk. Nothing is written if there is nothing to add.
+     *
+     * @param log          the log file
+     * @param baseChecksum the checksum of the base repository the log
+     *                     applies to, from RepositoryFormat.checksum
+     * @param delta        the words and occurrences added since the last block
+     * @throws IOException if the log cannot be written
+     */
+    public static void append(File log, int baseChecksum, BSTree<WordTracker> delta) throws IOException {
+        if (delta.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream block = new DataOutputStream(payload);
+        block.writeInt(0);
+        RepositoryFormat.write(delta, block);
+        byte[] bytes = payload.toByteArray();
+        int length = bytes.length - 4;
+        bytes[0] = (byte) (length >>> 24);
+        bytes[1] = (byte) (length >>> 16);
+        bytes[2] = (byte) (length >>> 8);
+        bytes[3] = (byte) length;
+
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            int start = headerSize(file, baseChecksum);
+            long end = start < 0 ? 0 : completeLength(file, start, null);
+            if (end == 0) {
+                file.setLength(0);
+                file.write(MAGIC);
+                file.writeByte(VERSION);
+                file.writeInt(baseChecksum);
+                end = HEADER_SIZE;
+            }
+            file.setLength(end);
+            file.seek(end);
+            file.write(bytes);
+            file.getFD().sync();
+        }
+    }
+
+    /**
+     * Merges every complete block of the log, in order, into a repository
+     * tree. A missing log, or one left over from before the base was last
+     * compacted, leaves the tree unchanged; the latter is reported as
+     * {@link #STALE}.
+     *
+     * The blocks are first combined into one tree of their own, word by word,
+     * and that tree is merged into the repository once. Merging rebuilds the
+     * repository tree, so merging each block in turn would cost the whole
+     * repository once per block.
+     *
+     * @param log          the log file
+     * @param baseChecksum the checksum of the base repository the tree was
+     *                     loaded from
+     * @param tree         the repository to update
+     * @return the number of bytes ignored at the end of the log because an
+     *         append was interrupted, normally 0, or {@link #STALE} if the
+     *         log belongs to another base and was not applied
+     * @throws IOException if the log cannot be read or a block is corrupt
+     */
+    public static long replay(File log, int baseChecksum, BSTree<WordTracker> tree) throws IOException {
+        if (!log.exists()) {
+            return 0;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(log, "r")) {
+            long size = file.length();
+            int start = headerSize(file, baseChecksum);
+            if (start < 0) {
+                return start == -1 ? size : STALE;
+            }
+
+            // Shares the file position, which is just past the header
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file.getFD())));
+            byte[] payload = new byte[0];
+            BSTree<WordTracker> updates = new BSTree<>(true);
+            long position = start;
+            while (position + 4 <= size) {
+                long length = in.readInt() & 0xFFFFFFFFL;
+                if (position + 4 + length > size) {
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[(int) length];
+                }
+                in.readFully(payload, 0, (int) length);
+                BSTree<WordTracker> delta = RepositoryFormat.read(new ByteArrayInputStream(payload, 0, (int) length));
+                Iterator<WordTracker> it = delta.inorderIterator();
+                while (it.hasNext()) {
+                    WordTracker words = it.next();
+                    updates.computeIfAbsent(words.getWord(), WordTracker.WORD_ORDER,
+                            word -> new WordTracker(word.toString())).addAll(words);
+                }
+                position += 4 + length;
+            }
+            if (!updates.isEmpty()) {
+                tree.merge(updates, WordTracker::addAll);
+            }
+            return size - position;
+        }
+    }
+
+    /**
+     * Reads the whole log into a tree of its own.
+     *
+     * @param log          the log file
+     * @param baseChecksum the checksum of the base repository
+     * @return the combined updates of every block, empty if there is no log
+     * @throws IOException if the log cannot be read
+     */
+    public static BSTree<WordTracker> read(File log, int baseChecksum) throws IOException {
+        BSTree<WordTracker> tree = new BSTree<>(true);
+        replay(log, baseChecksum, tree);
+        return tree;
+    }
+
+    /**
+     * Maps every complete block of the log as a repository of its own, in
+     * order, without reading the blocks. Only the header and the block
+     * lengths are read, so a query can look its words up in each block's key
+     * index instead of decoding the whole log.
+     *
+     * @param log          the open log file; the mapped blocks stay valid
+     *                     after it is closed
+     * @param baseChecksum the checksum of the base repository
+     * @return the blocks of the log, none if it belongs to another base
+     * @throws IOException if the log cannot be read or a block is corrupt
+     */
+    public static List<MappedRepository> map(RandomAccessFile log, int baseChecksum) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        int start = headerSize(log, baseChecksum);
+        long end = start < 0 ? start : completeLength(log, start, offsets);
+        List<MappedRepository> blocks = new ArrayList<>();
+        for (int i = 0; i < offsets.size(); i++) {
+            long offset = offsets.get(i) + 4;
+            long next = i + 1 < offsets.size() ? offsets.get(i + 1) : end;
+            blocks.add(new MappedRepository(log.getChannel(), offset, next - offset));
+        }
+        return blocks;
+    }
+
+    /**
+     * Returns the number of complete blocks in the log.
+     *
+     * @param log          the log file
+     * @param baseChecksum the checksum of the base repository
+     * @return the number of blocks, 0 if there is no log or it belongs to
+     *         another base
+     * @throws IOException if the log cannot be read
+     */
+    public static int blockCount(File log, int baseChecksum) throws IOException {
+        if (!log.exists()) {
+            return 0;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(log, "r")) {
+            List<Long> offsets = new ArrayList<>();
+            int start = headerSize(file, baseChecksum);
+            if (start >= 0) {
+                completeLength(file, start, offsets);
+            }
+            return offsets.size();
+        }
+    }
+
+    /**
+     * Reads the log header and returns its size, -1 if the header itself is
+     * incomplete, or -2 if the log belongs to another base.
+     */
+    private static int headerSize(RandomAccessFile file, int baseChecksum) throws IOException {
+        long size = file.length();
+        if (size < MAGIC.length + 1) {
+            return -1;
+        }
+        byte[] magic = new byte[MAGIC.length];
+        file.seek(0);
+        file.readFully(magic);
+        int version = file.readUnsignedByte();
+        if (!Arrays.equals(magic, MAGIC) || version < 1 || version > VERSION) {
+            throw new IOException("Not a WordTracker delta log.");
+        }
+        if (version == 1) {
+            return MAGIC.length + 1;
+        }
+        if (size < HEADER_SIZE) {
+            return -1;
+        }
+        return file.readInt() == baseChecksum ? HEADER_SIZE : -2;
+    }
+
+    /**
+     * Returns the length of the log up to the end of its last complete block.
+     * Only the block lengths are read.
+     *
+     * @param blocks receives the offset of each complete block, or null
+     */
+    private static long completeLength(RandomAccessFile file, long start, List<Long> blocks) throws IOException {
+        long size = file.length();
+        long end = start;
+        while (end + 4 <= size) {
+            file.seek(end);
+            long next = end + 4 + (file.readInt() & 0xFFFFFFFFL);
+            if (next > size) {
+                break;
+            }
+            if (blocks != null) {
+                blocks.add(end);
+            }
+            end = next;
+        }
+        return end;
+    }
+}
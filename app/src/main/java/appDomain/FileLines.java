@@ -0,0 +1,179 @@
+package appDomain;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The line lists of one word, keyed by file. Files are held as ids from
+ * StringTable.FILES in a pair of parallel arrays rather than as entries of a
+ * hash map: most words appear in only a few files, and a short array scan is
+ * cheaper than hashing while costing 8 bytes per file instead of a map entry
+ * and a reference to the word's own copy of the file name.
+ *
+ * It is a Map so that callers can keep using file names; the id-based methods
+ * skip the name lookup. Entries cannot be removed.
+ */
+final class FileLines extends AbstractMap<String, LineList> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int[] files = new int[2];
+    private LineList[] lines = new LineList[2];
+    private int size;
+
+    /**
+     * Returns the line list of a file.
+     *
+     * @param file the file id
+     * @return the line list, or null if the word is not in the file
+     */
+    LineList get(int file) {
+        // The file added last is checked first, as tokens of one file arrive together
+        for (int i = size - 1; i >= 0; i--) {
+            if (files[i] == file) {
+                return lines[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the line list of a file, adding an empty one if there is none.
+     *
+     * @param file the file id
+     * @return the line list
+     */
+    LineList getOrAdd(int file) {
+        LineList list = get(file);
+        if (list == null) {
+            list = new LineList();
+            put(file, list);
+        }
+        return list;
+    }
+
+    /**
+     * Sets the line list of a file.
+     *
+     * @param file the file id
+     * @param list the line list
+     * @return the previous line list, or null if there was none
+     */
+    LineList put(int file, LineList list) {
+        if (list == null) {
+            throw new NullPointerException("Line list cannot be null.");
+        }
+        for (int i = 0; i < size; i++) {
+            if (files[i] == file) {
+                LineList previous = lines[i];
+                lines[i] = list;
+                return previous;
+            }
+        }
+        if (size == files.length) {
+            files = Arrays.copyOf(files, size * 2);
+            lines = Arrays.copyOf(lines, size * 2);
+        }
+        files[size] = file;
+        lines[size++] = list;
+        return null;
+    }
+
+    /**
+     * Returns the file id of an entry.
+     *
+     * @param index entry position, in the order the files were added
+     * @return the file id
+     */
+    int fileAt(int index) {
+        return files[index];
+    }
+
+    /**
+     * Returns the line list of an entry.
+     *
+     * @param index entry position, in the order the files were added
+     * @return the line list
+     */
+    LineList linesAt(int index) {
+        return lines[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object fileName) {
+        return get(fileName) != null;
+    }
+
+    @Override
+    public LineList get(Object fileName) {
+        int file = StringTable.FILES.find(fileName);
+        return file < 0 ? null : get(file);
+    }
+
+    @Override
+    public LineList put(String fileName, LineList list) {
+        return put(StringTable.FILES.id(fileName), list);
+    }
+
+    @Override
+    public Set<Map.Entry<String, LineList>> entrySet() {
+        return new AbstractSet<Map.Entry<String, LineList>>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, LineList>> iterator() {
+                return new Iterator<Map.Entry<String, LineList>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Map.Entry<String, LineList> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException("No more elements.");
+                        }
+                        int index = next++;
+                        return new SimpleEntry<String, LineList>(StringTable.FILES.string(files[index]), lines[index]) {
+                            private static final long serialVersionUID = 1L;
+
+                            @Override
+                            public LineList setValue(LineList list) {
+                                if (list == null) {
+                                    throw new NullPointerException("Line list cannot be null.");
+                                }
+                                lines[index] = list;
+                                return super.setValue(list);
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Serializes as a plain HashMap, the form repositories were saved in before
+     * file ids existed, so ids never leave the process.
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        return new HashMap<>(this);
+    }
+}
@@ -0,0 +1,536 @@
+package appDomain;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * Keeps the repository in memory and answers WordTracker commands from a
+ * local socket or from standard input, so that indexing a small file costs
+ * the file rather than a JVM start and a full load and save.
+ *
+ * Commands are read one per line, with their arguments separated by spaces
+ * as on the command line:
+ * <pre>
+ * &lt;input.txt|dir|glob&gt;... -pf|-pl|-po [-f&lt;output.txt&gt;]   index the inputs and report them
+ * -w&lt;word&gt;|-s&lt;prefix&gt;|-r&lt;input.txt&gt; -pf|-pl|-po         query the repository
+ * save                                                persist the repository now
+ * quit                                                end the session
+ * shutdown                                            stop the server
+ * </pre>
+ * Each response ends with a line holding a single ".".
+ *
+ * Socket clients must first send the token that the server writes to
+ * {@value #TOKEN_FILE}, which only its owner can read, so other local users
+ * cannot use the server to read or index files on the owner's behalf. Socket
+ * sessions cannot write output files; their reports come back on the socket.
+ *
+ * Readers never wait for indexing. The repository is published as an
+ * immutable snapshot: its words are sealed and never changed again. Indexing
+ * builds the words of its files off to the side, then, one batch at a time,
+ * builds a new balanced tree that shares the unchanged words, holds copies
+ * of the changed ones, and replaces the snapshot. Queries keep reading the
+ * snapshot they started with. Building the tree takes time linear in the
+ * number of words, which is far less than the load and save it replaces.
+ *
+ * Alongside the snapshot the server keeps the words of each file, so a
+ * -r&lt;input.txt&gt; query costs the words of that file rather than a walk
+ * of the whole vocabulary. The lists are built in one pass when the server
+ * starts, and indexing rebuilds only the lists of the files it indexed.
+ *
+ * Saving appends the occurrences added since the last save to the update
+ * log, the same way a command line run does, and never blocks queries.
+ */
+public final class IndexServer {
+    private static final String END = ".";
+    private static final long DRAIN_SECONDS = 30;
+    private static final String TOKEN_FILE = "server.token";
+    private static final String USAGE = "Usage: <input.txt|dir|glob>... -pf|-pl|-po [-f<output.txt>] | "
+            + "-w<word>|-s<prefix>|-r<input.txt> -pf|-pl|-po | save | quit | shutdown";
+
+    private final Object ingestLock = new Object();
+    private final Object saveLock = new Object();
+    private volatile BSTree<WordTracker> snapshot;
+    /** The words of each file, in order; replaced, never changed, on indexing. */
+    private volatile Map<String, WordTracker[]> fileWords;
+    private volatile boolean running = true;
+    private volatile ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /** Occurrences added since the last save; guarded by ingestLock. */
+    private BSTree<WordTracker> pending = new BSTree<>(true);
+
+    /**
+     * @param repository the repository to serve; it is sealed and must not be
+     *                   changed by the caller afterwards
+     */
+    public IndexServer(BSTree<WordTracker> repository) {
+        Map<String, List<WordTracker>> files = new HashMap<>();
+        Iterator<WordTracker> it = repository.inorderIterator();
+        while (it.hasNext()) {
+            WordTracker wordTracker = it.next();
+            wordTracker.seal();
+            for (String fileName : wordTracker.getFileLines().keySet()) {
+                files.computeIfAbsent(fileName, name -> new ArrayList<>()).add(wordTracker);
+            }
+        }
+        Map<String, WordTracker[]> index = new HashMap<>();
+        for (Map.Entry<String, List<WordTracker>> entry : files.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().toArray(new WordTracker[0]));
+        }
+        this.snapshot = repository;
+        this.fileWords = index;
+    }
+
+    /**
+     * Accepts connections on a loopback port until the server is shut down,
+     * serving each on its own thread, and saves every given number of
+     * seconds while there are unsaved changes. Returns once every session
+     * has finished its current command, so a save that follows holds all of
+     * their changes.
+     *
+     * Each connection must first send the token written to
+     * {@value #TOKEN_FILE}; the file is deleted when the server stops.
+     *
+     * @param port        the port to listen on, or 0 for any free port
+     * @param saveSeconds the interval between saves, or 0 to save only on
+     *                    request
+     * @throws IOException if the port or the token file cannot be opened
+     */
+    public void serve(int port, long saveSeconds) throws IOException {
+        Path tokenFile = Paths.get(TOKEN_FILE);
+        String token = writeToken(tokenFile);
+        ExecutorService sessions = newSessionExecutor();
+        ScheduledExecutorService saver = scheduleSaves(saveSeconds);
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            serverSocket = server;
+            System.err.println("Listening on " + server.getLocalSocketAddress() + ", token in " + tokenFile.toAbsolutePath());
+            while (running) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketException e) {
+                    if (!running) {
+                        break;
+                    }
+                    throw e;
+                }
+                connections.add(socket);
+                sessions.execute(() -> {
+                    try (Socket connection = socket) {
+                        session(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8),
+                                new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8), token);
+                    } catch (IOException e) {
+                        System.err.println("Session ended: " + e.getMessage());
+                    } finally {
+                        connections.remove(socket);
+                    }
+                });
+            }
+        } finally {
+            sessions.shutdown();
+            drain(sessions);
+            if (saver != null) {
+                saver.shutdown();
+            }
+            Files.deleteIfExists(tokenFile);
+        }
+    }
+
+    /**
+     * Writes a new random token to a file that only the owner can read.
+     */
+    private static String writeToken(Path tokenFile) throws IOException {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b & 0xFF));
+        }
+        Files.deleteIfExists(tokenFile);
+        if (tokenFile.toAbsolutePath().getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            File file = Files.createFile(tokenFile).toFile();
+            file.setReadable(false, false);
+            file.setWritable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(true, true);
+        }
+        Files.write(tokenFile, (token + "\n").getBytes(StandardCharsets.US_ASCII));
+        return token.toString();
+    }
+
+    /**
+     * Waits for the sessions to finish their current command. Their input is
+     * ended first so that idle sessions stop at once; a session whose client
+     * stops reading its response is closed after {@link #DRAIN_SECONDS}.
+     */
+    private void drain(ExecutorService sessions) {
+        for (Socket connection : connections) {
+            try {
+                connection.shutdownInput();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+        try {
+            if (!sessions.awaitTermination(DRAIN_SECONDS, TimeUnit.SECONDS)) {
+                for (Socket connection : connections) {
+                    try {
+                        connection.close();
+                    } catch (IOException e) {
+                        // Already closed
+                    }
+                }
+                sessions.awaitTermination(DRAIN_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Answers the commands of a single session, such as standard input,
+     * saving every given number of seconds while it runs.
+     *
+     * @param in          the commands
+     * @param out         receives the responses
+     * @param saveSeconds the interval between saves, or 0 to save only on
+     *                    request
+     * @throws IOException if the session cannot be read or written
+     */
+    public void serve(Reader in, Writer out, long saveSeconds) throws IOException {
+        ScheduledExecutorService saver = scheduleSaves(saveSeconds);
+        try {
+            session(in, out);
+        } finally {
+            if (saver != null) {
+                saver.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Answers the commands of one session until it quits or its input ends.
+     *
+     * @param in  the commands
+     * @param out receives the responses
+     * @throws IOException if the session cannot be read or written
+     */
+    public void session(Reader in, Writer out) throws IOException {
+        session(in, out, null);
+    }
+
+    /**
+     * Answers the commands of one session until it quits or its input ends.
+     * A remote session must send the token first and cannot write output
+     * files.
+     *
+     * @param in    the commands
+     * @param out   receives the responses
+     * @param token the token a remote session must send, or null for a local
+     *              one
+     * @throws IOException if the session cannot be read or written
+     */
+    public void session(Reader in, Writer out, String token) throws IOException {
+        BufferedReader commands = new BufferedReader(in);
+        ReportWriter report = new ReportWriter(out);
+        if (token != null && !authorized(commands.readLine(), token)) {
+            report.write("Not authorized.\n" + END + "\n");
+            report.flush();
+            return;
+        }
+        String line;
+        while (running && (line = commands.readLine()) != null) {
+            String[] args = line.trim().split("\\s+");
+            if (args[0].isEmpty()) {
+                continue;
+            }
+            boolean more = execute(args, report, token == null);
+            report.write(END + "\n");
+            report.flush();
+            if (!more) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Saves the occurrences added since the last save. Queries and indexing
+     * continue while the repository is written.
+     *
+     * @return whether the repository is saved
+     */
+    public boolean save() {
+        synchronized (saveLock) {
+            BSTree<WordTracker> tree;
+            BSTree<WordTracker> added;
+            synchronized (ingestLock) {
+                tree = snapshot;
+                added = pending;
+                pending = new BSTree<>(true);
+            }
+            if (added.isEmpty() || WordTracker.saveRepository(tree, added)) {
+                return true;
+            }
+            // Keeps the changes for the next attempt, ahead of newer ones
+            synchronized (ingestLock) {
+                added.merge(pending, WordTracker::addAll);
+                pending = added;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting connections and ends the sessions after their current
+     * command.
+     */
+    public void shutdown() {
+        running = false;
+        ServerSocket server = serverSocket;
+        if (server != null) {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+
+    private static boolean authorized(String line, String token) {
+        return line != null && MessageDigest.isEqual(line.trim().getBytes(StandardCharsets.US_ASCII),
+                token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Runs one command.
+     *
+     * @param local whether the command may write output files
+     * @return false if the session should end
+     */
+    private boolean execute(String[] args, ReportWriter report, boolean local) throws IOException {
+        switch (args[0]) {
+            case "quit":
+                return false;
+            case "shutdown":
+                shutdown();
+                return false;
+            case "save":
+                report.write(save() ? "Saved.\n" : "Could not save repository.\n");
+                return true;
+            default:
+        }
+
+        int flagIndex = 0;
+        while (flagIndex < args.length && !args[flagIndex].startsWith("-p")) {
+            flagIndex++;
+        }
+        String flag = flagIndex < args.length ? args[flagIndex] : "";
+        boolean validFlag = flag.equals("-pf") || flag.equals("-pl") || flag.equals("-po");
+        String outputFile = null;
+        if (args.length == flagIndex + 2 && args[flagIndex + 1].startsWith("-f")) {
+            outputFile = args[flagIndex + 1].substring(2);
+        } else if (args.length != flagIndex + 1) {
+            validFlag = false;
+        }
+        if (flagIndex == 0 || !validFlag) {
+            report.write(USAGE + "\n");
+            return true;
+        }
+        if (outputFile != null && !local) {
+            report.write("Output files can only be written from standard input.\n");
+            return true;
+        }
+
+        ReportWriter target = outputFile == null ? report : new ReportWriter(new FileWriter(outputFile));
+        try {
+            if (flagIndex == 1 && (args[0].startsWith("-w") || args[0].startsWith("-s") || args[0].startsWith("-r"))) {
+                query(args[0], flag, target);
+            } else {
+                index(Arrays.asList(args).subList(0, flagIndex), flag, target);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            report.write("Error reading input file: " + e.getMessage() + "\n");
+        } finally {
+            if (target != report) {
+                target.close();
+            }
+        }
+        return true;
+    }
+
+    private void query(String command, String flag, ReportWriter report) throws IOException {
+        BSTree<WordTracker> words = snapshot;
+        String target = command.substring(2);
+        if (command.startsWith("-w")) {
+            WordTracker wordTracker = WordTracker.searchWord(words, target.toLowerCase());
+            if (wordTracker != null) {
+                WordTracker.writeAllFiles(report, wordTracker, flag);
+            }
+        } else if (command.startsWith("-s")) {
+            String prefix = target.toLowerCase();
+            String end = WordTracker.prefixEnd(prefix);
+            Iterator<WordTracker> it = end == null
+                    ? words.tailIterator(new WordTracker(prefix))
+                    : words.subTreeIterator(new WordTracker(prefix), new WordTracker(end));
+            while (it.hasNext()) {
+                WordTracker.writeAllFiles(report, it.next(), flag);
+            }
+        } else {
+            WordTracker[] inFile = fileWords.get(target);
+            if (inFile != null) {
+                for (WordTracker wordTracker : inFile) {
+                    report.write(wordTracker, flag, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes files into a new snapshot and reports them from it.
+     */
+    private void index(List<String> arguments, String flag, ReportWriter report) throws IOException {
+        List<String> inputFiles = InputFiles.expand(arguments);
+        // Tokenizing runs outside the lock, so sessions index in parallel
+        BSTree<WordTracker> added = WordTracker.indexFiles(inputFiles, RunStats.OFF);
+        BSTree<WordTracker> words;
+        synchronized (ingestLock) {
+            words = publish(snapshot, added);
+            Map<String, WordTracker[]> files = new HashMap<>(fileWords);
+            for (String inputFile : inputFiles) {
+                files.put(inputFile, mergeFileWords(words, files.get(inputFile), added, inputFile));
+            }
+            snapshot = words;
+            fileWords = files;
+            pending.merge(added, WordTracker::addAll);
+        }
+
+        for (String inputFile : inputFiles) {
+            Iterator<WordTracker> it = added.inorderIterator();
+            while (it.hasNext()) {
+                WordTracker wordTracker = WordTracker.searchWord(words, it.next().getWord());
+                report.write(wordTracker, flag, inputFile);
+            }
+        }
+    }
+
+    /**
+     * Builds the snapshot that adds new occurrences to the current one. Words
+     * without new occurrences are shared; the others are copied, so no word
+     * of the current snapshot is changed, and sealed.
+     */
+    private static BSTree<WordTracker> publish(BSTree<WordTracker> current, BSTree<WordTracker> added) {
+        List<WordTracker> merged = new ArrayList<>(current.size() + added.size());
+        Iterator<WordTracker> mine = current.inorderIterator();
+        Iterator<WordTracker> theirs = added.inorderIterator();
+        WordTracker left = mine.hasNext() ? mine.next() : null;
+        WordTracker right = theirs.hasNext() ? theirs.next() : null;
+        while (left != null || right != null) {
+            int cmp = left == null ? 1 : right == null ? -1 : left.compareTo(right);
+            if (cmp < 0) {
+                merged.add(left);
+            } else {
+                WordTracker copy = new WordTracker(right.getWord());
+                if (cmp == 0) {
+                    copy.addAll(left);
+                }
+                copy.addAll(right);
+                copy.seal();
+                merged.add(copy);
+            }
+            if (cmp <= 0) {
+                left = mine.hasNext() ? mine.next() : null;
+            }
+            if (cmp >= 0) {
+                right = theirs.hasNext() ? theirs.next() : null;
+            }
+        }
+        return BSTree.fromSorted(merged.toArray(new WordTracker[0]));
+    }
+
+    /**
+     * Lists the words of a file in a new snapshot: those it had before and
+     * those just added to it, in order. Words of the file that were not
+     * indexed again keep their lines in it, so the earlier list is only
+     * merged, never rebuilt, and its cost is the words of the file.
+     */
+    private static WordTracker[] mergeFileWords(BSTree<WordTracker> words, WordTracker[] before,
+            BSTree<WordTracker> added, String fileName) {
+        List<WordTracker> merged = new ArrayList<>();
+        int i = 0;
+        Iterator<WordTracker> it = added.inorderIterator();
+        while (it.hasNext()) {
+            WordTracker right = it.next();
+            if (!right.getFileLines().containsKey(fileName)) {
+                continue;
+            }
+            while (before != null && i < before.length && before[i].compareTo(right) < 0) {
+                merged.add(before[i++]);
+            }
+            if (before != null && i < before.length && before[i].compareTo(right) == 0) {
+                i++;
+            }
+            merged.add(WordTracker.searchWord(words, right.getWord()));
+        }
+        while (before != null && i < before.length) {
+            merged.add(before[i++]);
+        }
+        return merged.toArray(new WordTracker[0]);
+    }
+
+    private ScheduledExecutorService scheduleSaves(long saveSeconds) {
+        if (saveSeconds <= 0) {
+            return null;
+        }
+        ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "repository-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        saver.scheduleWithFixedDelay(this::save, saveSeconds, saveSeconds, TimeUnit.SECONDS);
+        return saver;
+    }
+
+    /**
+     * Returns an executor that runs each session on a virtual thread where
+     * the JVM has them (Java 21 and later), and otherwise on a pooled
+     * platform thread. The lookup is reflective so that the code still runs
+     * on Java 8.
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
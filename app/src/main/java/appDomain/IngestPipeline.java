@@ -0,0 +1,534 @@
+package appDomain;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import implementations.BSTree;
+import utilities.KeyComparator;
+
+/**
+ * Indexes input files in three stages that run at the same time, so reading
+ * the disk overlaps with tokenizing and tokenizing overlaps with building the
+ * tree:
+ * <ol>
+ * <li>a reader reads each file, in order, in large chunks through a
+ * FileChannel and cuts every chunk right after its last line feed, carrying
+ * the rest over to the next chunk;</li>
+ * <li>one or more tokenizers each take a whole chunk, decode it and split it
+ * into a batch of its distinct words, each with the lines it is on, numbered
+ * from the chunk's first line;</li>
+ * <li>the indexer, on the calling thread, applies the batches to the tree in
+ * chunk order, adding to each line number the lines of the chunks before it,
+ * so line numbers are exactly those of reading the file whole.</li>
+ * </ol>
+ * Looking words up in the tree is by far the largest cost of indexing, and
+ * grouping a chunk's words first takes one lookup per distinct word instead
+ * of one per occurrence.
+ * The stages are connected by bounded queues, so a stage that runs ahead
+ * waits for the next one instead of filling memory. Batches that arrive
+ * ahead of a slow chunk wait for it at the indexer, so the reader also takes
+ * a permit for every chunk, which the indexer returns once it has applied
+ * the chunk's batch: no more than the queue capacity plus one chunk per
+ * tokenizer are ever read but not yet indexed.
+ *
+ * Files are decoded with the default charset, as FileReader does. Cutting
+ * after a line feed byte assumes a charset in which a line feed is that one
+ * byte, which holds for UTF-8 and the single-byte charsets.
+ */
+public final class IngestPipeline {
+    /** The size chunks are read in; a longer line makes a longer chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private final int tokenizers;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final Supplier<? extends ScannerTokenizer> tokenizerFactory;
+
+    /**
+     * Constructor to initialize a pipeline with a tokenizer for each processor
+     * but one, which is left to the reader and indexer.
+     */
+    public IngestPipeline() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), DEFAULT_CHUNK_SIZE,
+                DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor to initialize a pipeline.
+     *
+     * @param tokenizers    the number of tokenizer threads
+     * @param chunkSize     the number of bytes read at a time
+     * @param queueCapacity the number of chunks, and of batches, that may
+     *                      wait between two stages
+     * @throws IllegalArgumentException if any argument is less than 1
+     */
+    public IngestPipeline(int tokenizers, int chunkSize, int queueCapacity) throws IllegalArgumentException {
+        this(tokenizers, chunkSize, queueCapacity, ScannerTokenizer::new);
+    }
+
+    /**
+     * Constructor to initialize a pipeline whose tokenizer threads each use a
+     * tokenizer from a factory.
+     *
+     * @param tokenizers       the number of tokenizer threads
+     * @param chunkSize        the number of bytes read at a time
+     * @param queueCapacity    the number of chunks, and of batches, that may
+     *                         wait between two stages
+     * @param tokenizerFactory creates the tokenizer of each tokenizer thread
+     * @throws IllegalArgumentException if any size is less than 1
+     */
+    public IngestPipeline(int tokenizers, int chunkSize, int queueCapacity,
+            Supplier<? extends ScannerTokenizer> tokenizerFactory) throws IllegalArgumentException {
+        if (tokenizers < 1 || chunkSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Pipeline sizes must be positive.");
+        }
+        this.tokenizers = tokenizers;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.tokenizerFactory = tokenizerFactory;
+    }
+
+    /**
+     * Returns the most chunks that are read but not yet indexed at any time.
+     *
+     * @return the queue capacity plus the number of tokenizers
+     */
+    public int chunksInFlight() {
+        return queueCapacity + tokenizers;
+    }
+
+    /**
+     * Indexes the words of the input files into a new tree.
+     *
+     * @param inputFiles the files to index
+     * @param stats      counts the bytes, lines and words read
+     * @return a balanced tree of the words in the files
+     * @throws IOException if any file cannot be read
+     */
+    public BSTree<WordTracker> index(List<String> inputFiles, RunStats stats) throws IOException {
+        BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch> batches = new ArrayBlockingQueue<>(queueCapacity);
+        Semaphore inFlight = new Semaphore(chunksInFlight());
+        ExecutorService stages = Executors.newFixedThreadPool(tokenizers + 1, task -> {
+            Thread thread = new Thread(task, "ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            stages.execute(stats.measuring(() -> read(inputFiles, chunks, inFlight)));
+            for (int i = 0; i < tokenizers; i++) {
+                stages.execute(stats.measuring(() -> tokenize(chunks, batches)));
+            }
+            return build(inputFiles, batches, inFlight, stats);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Indexing was interrupted.", e);
+        } finally {
+            // Stops the other stages if the indexer gave up early, and lets
+            // them finish so that what they allocated counts in this phase
+            stages.shutdownNow();
+            awaitStages(stages);
+        }
+    }
+
+    private static void awaitStages(ExecutorService stages) {
+        try {
+            stages.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The reader stage: hands every file to the tokenizers in chunks that end
+     * at a line end, then one end marker per tokenizer.
+     */
+    private void read(List<String> inputFiles, BlockingQueue<Chunk> chunks, Semaphore inFlight) {
+        long sequence = 0;
+        try {
+            for (int file = 0; file < inputFiles.size() && sequence >= 0; file++) {
+                sequence = readFile(inputFiles.get(file), file, sequence, chunks, inFlight);
+            }
+            for (int i = 0; i < tokenizers; i++) {
+                chunks.put(Chunk.END);
+            }
+        } catch (InterruptedException e) {
+            // The indexer has stopped
+        }
+    }
+
+    /**
+     * Reads one file into chunks. A failure to read it, including a runtime
+     * exception or an error such as running out of memory for a long line, is
+     * passed on in place of the next chunk, as the indexer waits for it. Each
+     * chunk of the file waits for a permit to be in flight.
+     *
+     * @return the sequence number of the next chunk, or -1 if the file could
+     *         not be read
+     */
+    private long readFile(String inputFile, int file, long sequence, BlockingQueue<Chunk> chunks,
+            Semaphore inFlight) throws InterruptedException {
+        try (FileChannel channel = new FileInputStream(inputFile).getChannel()) {
+            byte[] buffer = new byte[chunkSize];
+            int length = 0;
+            boolean ended = false;
+            while (true) {
+                ByteBuffer free = ByteBuffer.wrap(buffer, length, buffer.length - length);
+                while (free.hasRemaining() && !ended) {
+                    ended = channel.read(free) < 0;
+                }
+                length = free.position();
+                int cut = ended ? length : lastLineFeed(buffer, length) + 1;
+                if (cut == 0 && !ended) {
+                    // A line longer than the chunk: read on until it ends
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+                if (cut > 0) {
+                    inFlight.acquire();
+                    chunks.put(new Chunk(sequence++, file, buffer, cut));
+                }
+                if (ended) {
+                    return sequence;
+                }
+                byte[] next = new byte[Math.max(chunkSize, length - cut)];
+                System.arraycopy(buffer, cut, next, 0, length - cut);
+                buffer = next;
+                length -= cut;
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            chunks.put(new Chunk(sequence, e));
+            return -1;
+        }
+    }
+
+    private static int lastLineFeed(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A tokenizer stage: turns chunks into batches of words until it takes an
+     * end marker, which it passes on.
+     */
+    private void tokenize(BlockingQueue<Chunk> chunks, BlockingQueue<Batch> batches) {
+        ScannerTokenizer tokenizer = tokenizerFactory.get();
+        CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try {
+            while (true) {
+                Chunk chunk = chunks.take();
+                if (chunk == Chunk.END) {
+                    batches.put(Batch.END);
+                    return;
+                }
+                if (chunk.failure != null) {
+                    batches.put(new Batch(chunk.sequence, chunk.failure));
+                    continue;
+                }
+                try {
+                    batches.put(tokenize(chunk, tokenizer, decoder));
+                } catch (RuntimeException | Error e) {
+                    // The indexer waits for every chunk, so a failed one is passed on too
+                    batches.put(new Batch(chunk.sequence, e));
+                }
+            }
+        } catch (InterruptedException e) {
+            // The indexer has stopped
+        }
+    }
+
+    /**
+     * Decodes a chunk and splits it into a batch of words.
+     */
+    private static Batch tokenize(Chunk chunk, ScannerTokenizer tokenizer, CharsetDecoder decoder) {
+        CharBuffer text = CharBuffer.allocate((int) Math.ceil(chunk.length * (double) decoder.maxCharsPerByte()));
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(chunk.bytes, 0, chunk.length), text, true);
+        decoder.flush(text);
+
+        Batch batch = new Batch(chunk.sequence, chunk.file, chunk.length, text.position());
+        batch.lines = tokenizer.tokenize(text.array(), text.position(), 1, batch) - 1;
+        return batch;
+    }
+
+    /**
+     * The indexer stage: applies the batches to the tree in the order of
+     * their chunks until every tokenizer has ended. Each distinct word of a
+     * batch is looked up in the tree once, and its lines are added to the
+     * word's list for the file in one go. The permit of each chunk is
+     * returned once its batch is applied.
+     */
+    private BSTree<WordTracker> build(List<String> inputFiles, BlockingQueue<Batch> batches, Semaphore inFlight,
+            RunStats stats) throws IOException, InterruptedException {
+        BSTree<WordTracker> tree = new BSTree<>(true);
+        KeyComparator<CharSequence, WordTracker> order = stats.counting(WordTracker.WORD_ORDER);
+        Map<Long, Batch> waiting = new HashMap<>();
+        Slice word = new Slice();
+        long next = 0;
+        int ended = 0;
+        int file = -1;
+        int fileId = -1;
+        int lineOffset = 0;
+        int lastWordLine = 0;
+
+        while (ended < tokenizers) {
+            Batch arrived = batches.take();
+            if (arrived == Batch.END) {
+                ended++;
+                continue;
+            }
+            waiting.put(arrived.sequence, arrived);
+            Batch batch;
+            while ((batch = waiting.remove(next)) != null) {
+                next++;
+                if (batch.failure instanceof IOException) {
+                    throw (IOException) batch.failure;
+                } else if (batch.failure instanceof RuntimeException) {
+                    throw (RuntimeException) batch.failure;
+                } else if (batch.failure != null) {
+                    throw (Error) batch.failure;
+                }
+                if (batch.file != file) {
+                    file = batch.file;
+                    fileId = StringTable.FILES.id(inputFiles.get(file));
+                    lineOffset = 0;
+                    lastWordLine = 0;
+                }
+
+                word.chars = batch.chars;
+                for (int i = 0; i < batch.words; i++) {
+                    word.start = i == 0 ? 0 : batch.ends[i - 1];
+                    word.end = batch.ends[i];
+                    LineList lines = tree.computeIfAbsent(word, order, key -> new WordTracker(key.toString()))
+                            .lines().getOrAdd(fileId);
+                    for (int o = batch.first[i]; o >= 0; o = batch.next[o]) {
+                        lines.add(lineOffset + batch.lineNumbers[o]);
+                    }
+                }
+
+                // Lines are counted up to the last one holding a word, as RunStats does
+                int lastLine = batch.tokens == 0 ? lastWordLine : lineOffset + batch.lineNumbers[batch.tokens - 1];
+                stats.count(batch.bytes, lastLine - lastWordLine, batch.tokens, batch.words);
+                lastWordLine = lastLine;
+                lineOffset += batch.lines;
+                inFlight.release();
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * The bytes of one or more whole lines of a file, or a read failure.
+     */
+    private static final class Chunk {
+        static final Chunk END = new Chunk(-1, -1, null, 0);
+
+        final long sequence;
+        final int file;
+        final byte[] bytes;
+        final int length;
+        final Throwable failure;
+
+        Chunk(long sequence, int file, byte[] bytes, int length) {
+            this.sequence = sequence;
+            this.file = file;
+            this.bytes = bytes;
+            this.length = length;
+            this.failure = null;
+        }
+
+        Chunk(long sequence, Throwable failure) {
+            this.sequence = sequence;
+            this.file = -1;
+            this.bytes = null;
+            this.length = 0;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * The words of one chunk, grouped: each distinct word is stored once, end
+     * to end with the others, with the lines it is on, counted from the
+     * chunk's first line and kept in reading order. Words are found through
+     * an open-addressing table on their characters, so a word seen again
+     * costs a hash and a comparison instead of a tree search.
+     */
+    private static final class Batch implements Tokenizer.TokenSink {
+        static final Batch END = new Batch(-1, -1, 0, 0);
+
+        final long sequence;
+        final int file;
+        final int bytes;
+        final Throwable failure;
+        /** The characters of the distinct words, end to end. */
+        char[] chars;
+        int length;
+        /** Per distinct word: where it ends in chars, its hash and its first and last occurrence. */
+        int[] ends = new int[64];
+        int[] hashes = new int[64];
+        int[] first = new int[64];
+        int[] last = new int[64];
+        int words;
+        /** Per occurrence: its line and the next occurrence of the same word, or -1. */
+        int[] lineNumbers = new int[256];
+        int[] next = new int[256];
+        int tokens;
+        /** Holds word index + 1 in each used slot. */
+        int[] table = new int[128];
+        /** The number of line ends in the chunk. */
+        int lines;
+
+        Batch(long sequence, int file, int bytes, int textLength) {
+            this.sequence = sequence;
+            this.file = file;
+            this.bytes = bytes;
+            this.failure = null;
+            this.chars = new char[Math.max(16, textLength / 4)];
+        }
+
+        Batch(long sequence, Throwable failure) {
+            this.sequence = sequence;
+            this.file = -1;
+            this.bytes = 0;
+            this.failure = failure;
+        }
+
+        @Override
+        public void token(CharSequence word, int lineNumber) {
+            int wordLength = word.length();
+            int hash = 0;
+            for (int i = 0; i < wordLength; i++) {
+                hash = 31 * hash + word.charAt(i);
+            }
+            int mask = table.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            int found;
+            while ((found = table[slot] - 1) >= 0 && !matches(found, hash, word, wordLength)) {
+                slot = (slot + 1) & mask;
+            }
+            if (found < 0) {
+                found = add(word, wordLength, hash);
+                table[slot] = found + 1;
+                if (words * 2 > table.length) {
+                    rehash();
+                }
+            }
+
+            if (tokens == lineNumbers.length) {
+                lineNumbers = Arrays.copyOf(lineNumbers, tokens * 2);
+                next = Arrays.copyOf(next, tokens * 2);
+            }
+            lineNumbers[tokens] = lineNumber;
+            next[tokens] = -1;
+            if (first[found] < 0) {
+                first[found] = tokens;
+            } else {
+                next[last[found]] = tokens;
+            }
+            last[found] = tokens++;
+        }
+
+        private boolean matches(int index, int hash, CharSequence word, int wordLength) {
+            if (hashes[index] != hash) {
+                return false;
+            }
+            int start = index == 0 ? 0 : ends[index - 1];
+            if (ends[index] - start != wordLength) {
+                return false;
+            }
+            for (int i = 0; i < wordLength; i++) {
+                if (chars[start + i] != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int add(CharSequence word, int wordLength, int hash) {
+            if (words == ends.length) {
+                ends = Arrays.copyOf(ends, words * 2);
+                hashes = Arrays.copyOf(hashes, words * 2);
+                first = Arrays.copyOf(first, words * 2);
+                last = Arrays.copyOf(last, words * 2);
+            }
+            if (length + wordLength > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + wordLength));
+            }
+            for (int i = 0; i < wordLength; i++) {
+                chars[length++] = word.charAt(i);
+            }
+            ends[words] = length;
+            hashes[words] = hash;
+            first[words] = -1;
+            return words++;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int index = 0; index < words; index++) {
+                int slot = (hashes[index] ^ (hashes[index] >>> 16)) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = index + 1;
+            }
+        }
+    }
+
+    /**
+     * A word of a batch, exposed without copying it.
+     */
+    private static final class Slice implements CharSequence {
+        char[] chars;
+        int start;
+        int end;
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+            }
+            return chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().substring(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, start, end - start);
+        }
+    }
+}
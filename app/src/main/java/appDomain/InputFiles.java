@@ -0,0 +1,92 @@
+package appDomain;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Expands the input arguments of WordTracker into the list of files to index.
+ * An argument can name a file, a directory (every regular file below it is
+ * indexed) or a glob pattern such as res/*.txt or "corpus/**.txt".
+ */
+public final class InputFiles {
+
+    private InputFiles() {
+    }
+
+    /**
+     * Expands each argument and returns the matching files in argument order.
+     * Files found in a directory or through a glob are sorted by path.
+     *
+     * @param arguments file names, directory names or glob patterns
+     * @return the files to index
+     * @throws IOException if a directory cannot be read or nothing matches an argument
+     */
+    public static List<String> expand(List<String> arguments) throws IOException {
+        List<String> files = new ArrayList<>();
+        for (String argument : arguments) {
+            if (isGlob(argument) && !exists(argument)) {
+                files.addAll(matchGlob(argument));
+            } else if (Files.isDirectory(Paths.get(argument))) {
+                files.addAll(walk(Paths.get(argument), path -> true));
+            } else {
+                files.add(argument);
+            }
+        }
+        return files;
+    }
+
+    private static boolean exists(String argument) {
+        try {
+            return Files.exists(Paths.get(argument));
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    private static boolean isGlob(String argument) {
+        return argument.indexOf('*') >= 0 || argument.indexOf('?') >= 0
+                || argument.indexOf('[') >= 0 || argument.indexOf('{') >= 0;
+    }
+
+    /**
+     * Walks the directories in front of the first wildcard and keeps the
+     * regular files whose path matches the whole pattern.
+     */
+    private static List<String> matchGlob(String pattern) throws IOException {
+        String prefix = pattern.substring(0, firstWildcard(pattern));
+        int separator = Math.max(prefix.lastIndexOf('/'), prefix.lastIndexOf(File.separatorChar));
+        Path base = Paths.get(separator < 0 ? "" : prefix.substring(0, separator + 1));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        List<String> matches = Files.isDirectory(base) ? walk(base, matcher) : new ArrayList<>();
+        if (matches.isEmpty()) {
+            throw new NoSuchFileException(pattern, null, "no input files match");
+        }
+        return matches;
+    }
+
+    private static int firstWildcard(String pattern) {
+        int index = pattern.length();
+        for (char wildcard : new char[] { '*', '?', '[', '{' }) {
+            int found = pattern.indexOf(wildcard);
+            if (found >= 0) {
+                index = Math.min(index, found);
+            }
+        }
+        return index;
+    }
+
+    private static List<String> walk(Path directory, PathMatcher matcher) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(matcher::matches)
+                    .sorted()
+                    .map(Path::toString)
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package appDomain;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compact list of line numbers. While a list is being filled it keeps its
+ * values in a growable int array; once sealed it packs them into a byte array
+ * of zigzag varint deltas, which takes a single byte per occurrence for the
+ * usual case of nearby, ascending line numbers. Appending to a sealed list
+ * unpacks it again.
+ *
+ * The list prints like a java.util.List, e.g. "[1, 4, 4, 9]".
+ */
+public class LineList implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 2;
+
+    private transient int[] lines;
+    private transient byte[] packed;
+    private transient int size;
+
+    /**
+     * Constructor to initialize an empty, unsealed LineList.
+     */
+    public LineList() {
+        this.lines = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructor to initialize a sealed LineList from its packed form, as
+     * written by packed().
+     *
+     * @param size   the number of line numbers
+     * @param packed the zigzag varint deltas
+     */
+    LineList(int size, byte[] packed) {
+        this.size = size;
+        this.packed = packed;
+    }
+
+    /**
+     * Appends a line number to the end of the list.
+     *
+     * @param lineNumber the line number to add
+     */
+    public void add(int lineNumber) {
+        if (lines == null) {
+            lines = toArray();
+            packed = null;
+        }
+        if (size == lines.length) {
+            lines = Arrays.copyOf(lines, size + (size >> 1) + 1);
+        }
+        lines[size++] = lineNumber;
+    }
+
+    /**
+     * Appends every line number of another list to the end of this one.
+     *
+     * @param other the list whose line numbers are added
+     */
+    public void addAll(LineList other) {
+        other.forEach(this::add);
+    }
+
+    /**
+     * Returns the number of line numbers in the list.
+     *
+     * @return number of occurrences
+     */
+    public int size() { return size; }
+
+    /**
+     * Checks whether the list has been packed into its compact form.
+     *
+     * @return true if the list is sealed
+     */
+    public boolean isSealed() { return packed != null; }
+
+    /**
+     * Packs the list into zigzag varint deltas and releases the int array.
+     * Sealing an already sealed list does nothing.
+     */
+    public void seal() {
+        if (packed != null) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size + 4);
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            writeVarInt(bytes, zigzag(lines[i] - previous));
+            previous = lines[i];
+        }
+        packed = bytes.toByteArray();
+        lines = null;
+    }
+
+    /**
+     * Seals the list and returns its packed zigzag varint deltas. The array is
+     * shared with the list and must not be modified.
+     *
+     * @return the packed line numbers
+     */
+    byte[] packed() {
+        seal();
+        return packed;
+    }
+
+    /**
+     * Passes every line number, in insertion order, to the given action.
+     *
+     * @param action receives each line number
+     */
+    public void forEach(IntConsumer action) {
+        if (lines != null) {
+            for (int i = 0; i < size; i++) {
+                action.accept(lines[i]);
+            }
+            return;
+        }
+        int position = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = packed[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += unzigzag(value);
+            action.accept(previous);
+        }
+    }
+
+    /**
+     * Copies the line numbers into a new array.
+     *
+     * @return the line numbers in insertion order
+     */
+    public int[] toArray() {
+        if (lines != null) {
+            return Arrays.copyOf(lines, size);
+        }
+        int[] result = new int[size];
+        int[] count = { 0 };
+        forEach(line -> result[count[0]++] = line);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(size * 4 + 2).append('[');
+        forEach(line -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(line);
+        });
+        return builder.append(']').toString();
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        seal();
+        out.defaultWriteObject();
+        out.writeInt(size);
+        out.writeInt(packed.length);
+        out.write(packed);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        size = in.readInt();
+        packed = new byte[in.readInt()];
+        in.readFully(packed);
+    }
+}
@@ -0,0 +1,429 @@
+package appDomain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import utilities.Iterator;
+
+/**
+ * A read-only view of a repository file that is memory-mapped instead of
+ * loaded. Opening it only reads the header and the file name table; word
+ * lookups binary-search the key index at the end of the file and decode just
+ * the records they touch, so a query costs milliseconds whatever the size of
+ * the repository. Reporting one file walks that file's list in the file
+ * index, so it costs as many records as the file has distinct words.
+ *
+ * A repository can also be mapped from part of a larger file, such as one
+ * block of the update log. Files larger than 2 GB are mapped in several
+ * segments.
+ */
+public class MappedRepository implements Closeable {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final MappedByteBuffer[] segments;
+    private final long length;
+    private final String[] fileNames;
+    private final int[] fileIds;
+    private final int wordCount;
+    private final long indexOffset;
+    private final long fileIndexOffset;
+
+    /**
+     * Maps a repository file and reads its header.
+     *
+     * @param file the repository file, written by RepositoryFormat
+     * @throws IOException if the file cannot be mapped or has no key index
+     */
+    public MappedRepository(Path file) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.READ), 0, -1, true);
+    }
+
+    /**
+     * Maps a repository stored in part of a file and reads its header. The
+     * channel is left open when the repository is closed; the mapping stays
+     * valid after the channel is closed.
+     *
+     * @param channel the file the repository is stored in
+     * @param offset  the position of the repository in the file
+     * @param length  the length of the repository
+     * @throws IOException if the region cannot be mapped or has no key index
+     */
+    public MappedRepository(FileChannel channel, long offset, long length) throws IOException {
+        this(channel, offset, length, false);
+    }
+
+    private MappedRepository(FileChannel channel, long offset, long length, boolean ownsChannel) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        try {
+            this.length = length < 0 ? channel.size() - offset : length;
+            segments = new MappedByteBuffer[(int) ((this.length + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start,
+                        Math.min(SEGMENT_SIZE, this.length - start));
+            }
+
+            Cursor cursor = new Cursor(0);
+            byte[] magic = cursor.readBytes(RepositoryFormat.MAGIC.length);
+            if (!Arrays.equals(magic, RepositoryFormat.MAGIC)) {
+                throw new IOException("Not a WordTracker repository.");
+            }
+            int version = cursor.readByte() & 0xFF;
+            if (version < 2 || version > RepositoryFormat.VERSION) {
+                throw new IOException("Repository version " + version + " has no key index; re-save it first.");
+            }
+            fileNames = new String[cursor.readLength()];
+            fileIds = new int[fileNames.length];
+            for (int i = 0; i < fileNames.length; i++) {
+                fileIds[i] = StringTable.FILES.id(cursor.readString());
+                fileNames[i] = StringTable.FILES.string(fileIds[i]);
+            }
+            wordCount = cursor.readLength();
+            indexOffset = new Cursor(this.length - RepositoryFormat.FOOTER_SIZE).readLong();
+            long indexEnd = indexOffset + (long) wordCount * 8;
+            if (version >= 4) {
+                fileIndexOffset = new Cursor(indexEnd).readLong();
+                indexEnd += 8;
+            } else {
+                fileIndexOffset = -1;
+            }
+            if (version >= 3) {
+                indexEnd += RepositoryFormat.CHECKSUM_SIZE;
+            }
+            if (indexEnd != this.length - RepositoryFormat.FOOTER_SIZE) {
+                throw new IOException("Repository is truncated or corrupt.");
+            }
+        } catch (IOException | RuntimeException e) {
+            if (ownsChannel) {
+                channel.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of words in the repository.
+     *
+     * @return number of words
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the word stored at a position of the sorted key index.
+     *
+     * @param index position in ascending word order
+     * @return the word
+     * @throws IOException if the record cannot be decoded
+     */
+    public String wordAt(int index) throws IOException {
+        return record(index).readString();
+    }
+
+    /**
+     * Binary-searches the key index for a word.
+     *
+     * @param word the word to look for
+     * @return the position of the word, or (-(insertion point) - 1) if it is
+     *         not in the repository
+     * @throws IOException if a record cannot be decoded
+     */
+    public int indexOf(CharSequence word) throws IOException {
+        String key = word.toString();
+        int low = 0;
+        int high = wordCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = wordAt(middle).compareTo(key);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Looks a word up and decodes its occurrences.
+     *
+     * @param word the word to look for
+     * @return the word's WordTracker, or null if it is not in the repository
+     * @throws IOException if the record cannot be decoded
+     */
+    public WordTracker get(CharSequence word) throws IOException {
+        int index = indexOf(word);
+        return index >= 0 ? load(index) : null;
+    }
+
+    /**
+     * Decodes the record stored at a position of the sorted key index.
+     *
+     * @param index position in ascending word order
+     * @return the word's WordTracker
+     * @throws IOException if the record cannot be decoded
+     */
+    public WordTracker load(int index) throws IOException {
+        Cursor cursor = record(index);
+        WordTracker tracker = new WordTracker(cursor.readString());
+        int entries = cursor.readLength();
+        for (int i = 0; i < entries; i++) {
+            int fileId = cursor.readVarInt();
+            if (fileId < 0 || fileId >= fileIds.length) {
+                throw new IOException("Repository is corrupt: unknown file " + fileId + ".");
+            }
+            int lineCount = cursor.readLength();
+            byte[] packed = cursor.readBytes(cursor.readLength());
+            if (varInts(packed) != lineCount) {
+                throw new IOException("Repository is corrupt: expected " + lineCount + " line numbers.");
+            }
+            tracker.lines().put(fileIds[fileId], new LineList(lineCount, packed));
+        }
+        return tracker;
+    }
+
+    /**
+     * Counts the varints packed in a record's line numbers, or returns -1 if
+     * the last one is cut off, so that a corrupt record fails here rather
+     * than when its lines are read.
+     */
+    private static int varInts(byte[] packed) {
+        int count = 0;
+        for (byte b : packed) {
+            if (b >= 0) {
+                count++;
+            }
+        }
+        return packed.length == 0 || packed[packed.length - 1] >= 0 ? count : -1;
+    }
+
+    /**
+     * Iterates in order over the words from one key, inclusive, to another,
+     * exclusive. Only the records in the range are decoded, one per call to
+     * next().
+     *
+     * @param from the first word of the range, or null to start at the first word
+     * @param to   the word the range stops before, or null to run to the last word
+     * @return an iterator over the WordTrackers in the range
+     * @throws IOException if the key index cannot be searched
+     */
+    public Iterator<WordTracker> range(CharSequence from, CharSequence to) throws IOException {
+        int start = (from == null) ? 0 : insertionPoint(from);
+        int end = (to == null) ? wordCount : insertionPoint(to);
+        return new Iterator<WordTracker>() {
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public WordTracker next() throws NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements.");
+                }
+                try {
+                    return load(next++);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Iterates in order over the words that appear in one file. With a file
+     * index only those records are decoded; repositories written before it
+     * existed are scanned in full instead.
+     *
+     * @param fileName the file to report
+     * @return an iterator over the WordTrackers of the words in the file
+     * @throws IOException if the file index cannot be read
+     */
+    public Iterator<WordTracker> fileWords(String fileName) throws IOException {
+        int fileId = Arrays.asList(fileNames).indexOf(fileName);
+        if (fileId < 0 || fileIndexOffset < 0) {
+            return scan(fileId < 0 ? null : fileName);
+        }
+        Cursor cursor = new Cursor(fileIndexOffset);
+        for (int i = 0; i < fileId; i++) {
+            cursor.readVarInt();
+            cursor.position += cursor.readVarInt();
+        }
+        int count = cursor.readVarInt();
+        cursor.readVarInt();
+        return new Iterator<WordTracker>() {
+            private int remaining = count;
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public WordTracker next() throws NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements.");
+                }
+                try {
+                    position += cursor.readVarInt();
+                    remaining--;
+                    if (position < 0 || position >= wordCount) {
+                        throw new IOException("Repository is corrupt: word " + position + " in the file index.");
+                    }
+                    return load(position);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Iterates over every record and returns those that appear in a file, or
+     * none if the file name is null.
+     */
+    private Iterator<WordTracker> scan(String fileName) throws IOException {
+        Iterator<WordTracker> all = range(null, null);
+        return new Iterator<WordTracker>() {
+            private WordTracker next = advance();
+
+            private WordTracker advance() {
+                while (fileName != null && all.hasNext()) {
+                    WordTracker tracker = all.next();
+                    if (tracker.getFileLines().containsKey(fileName)) {
+                        return tracker;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public WordTracker next() throws NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements.");
+                }
+                WordTracker tracker = next;
+                next = advance();
+                return tracker;
+            }
+        };
+    }
+
+    private int insertionPoint(CharSequence word) throws IOException {
+        int index = indexOf(word);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Returns the names of all files recorded in the repository.
+     *
+     * @return the file name table
+     */
+    public String[] fileNames() {
+        return fileNames.clone();
+    }
+
+    private Cursor record(int index) throws IOException {
+        if (index < 0 || index >= wordCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + wordCount);
+        }
+        return new Cursor(new Cursor(indexOffset + 8L * index).readLong());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Decodes values from a position in the mapped file.
+     */
+    private final class Cursor {
+        private long position;
+
+        Cursor(long position) {
+            this.position = position;
+        }
+
+        byte readByte() throws IOException {
+            if (position < 0 || position >= length) {
+                throw new IOException("Repository ends unexpectedly.");
+            }
+            byte b = segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & (SEGMENT_SIZE - 1)));
+            position++;
+            return b;
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in repository.");
+        }
+
+        long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        /**
+         * Reads a count or a length, which cannot be negative or run past the
+         * end of the repository.
+         */
+        int readLength() throws IOException {
+            int count = readVarInt();
+            if (count < 0 || count > length - position) {
+                throw new IOException("Repository is corrupt: invalid length " + count + ".");
+            }
+            return count;
+        }
+
+        byte[] readBytes(int count) throws IOException {
+            if (count < 0 || count > length - position) {
+                throw new IOException("Repository is corrupt: invalid length " + count + ".");
+            }
+            byte[] bytes = new byte[count];
+            for (int i = 0; i < count; i++) {
+                bytes[i] = readByte();
+            }
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            return new String(readBytes(readLength()), StandardCharsets.UTF_8);
+        }
+    }
+}
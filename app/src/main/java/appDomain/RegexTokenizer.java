@@ -0,0 +1,33 @@
+package appDomain;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The original line-by-line tokenizer: lower-cases each line, splits it with a
+ * regular expression and strips apostrophes. It is kept as the reference the
+ * faster ScannerTokenizer is checked and benchmarked against.
+ */
+public class RegexTokenizer implements Tokenizer {
+
+    @Override
+    public void tokenize(Reader in, TokenSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(in);
+        String line;
+        int lineNumber = 1;
+
+        while ((line = reader.readLine()) != null) {
+            String[] words = line.toLowerCase().split("[^a-zA-Z']+");
+
+            for (String word : words) {
+                word = word.replace("'", "");
+
+                if (!word.isEmpty()) {
+                    sink.token(word, lineNumber);
+                }
+            }
+            lineNumber++;
+        }
+    }
+}
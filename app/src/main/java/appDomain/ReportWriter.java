@@ -0,0 +1,159 @@
+package appDomain;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Formats report entries straight into a reusable character buffer and hands
+ * it to a writer a block at a time. No string is built per entry, so a report
+ * takes the same memory whatever its size, and its first lines are written
+ * while the rest is still being formatted.
+ *
+ * The buffer only grows past its block size to hold a single entry whose line
+ * list is longer than a block, and shrinks back once that entry is written.
+ */
+public class ReportWriter implements Closeable, Flushable {
+    private static final int BLOCK_SIZE = 8 * 1024;
+
+    private final Writer out;
+    private char[] buffer = new char[BLOCK_SIZE];
+    private int position;
+
+    /**
+     * @param out the writer to send the report to; closing this report writer
+     *            closes it
+     */
+    public ReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the entry of one word for one input file, in the format selected
+     * by the display flag. Nothing is written if the word does not appear in
+     * the file.
+     *
+     * @param wordTracker the word and its occurrences
+     * @param flag        -pf, -pl or -po
+     * @param inputFile   the file to report on
+     * @return whether an entry was written
+     * @throws IOException if the writer fails
+     */
+    public boolean write(WordTracker wordTracker, String flag, String inputFile) throws IOException {
+        LineList lines = wordTracker.getFileLines().get(inputFile);
+
+        // Skips word if it doesn't appear in the current input file
+        if (lines == null) {
+            return false;
+        }
+
+        // Format based on display flag
+        if (flag.equals("-pf") || flag.equals("-pl") || flag.equals("-po")) {
+            append("Key : ===").append(wordTracker.getWord()).append("===  found in file: ").append(inputFile);
+            if (!flag.equals("-pf")) {
+                append(" on line(s): ").append(lines);
+            }
+            if (flag.equals("-po")) {
+                int freq = lines.size();
+                append(" (").append(freq).append(" occurrence").append(freq > 1 ? "s)" : ")");
+            }
+        } else {
+            append("Unknown flag.");
+        }
+
+        append('\n');
+        if (position >= BLOCK_SIZE) {
+            drain();
+        }
+        return true;
+    }
+
+    /**
+     * Writes text as it is.
+     *
+     * @param text the text to write
+     * @throws IOException if the writer fails
+     */
+    public void write(String text) throws IOException {
+        append(text);
+        if (position >= BLOCK_SIZE) {
+            drain();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        if (buffer.length > BLOCK_SIZE * 4) {
+            buffer = new char[BLOCK_SIZE];
+        }
+    }
+
+    private ReportWriter append(String text) {
+        ensure(text.length());
+        text.getChars(0, text.length(), buffer, position);
+        position += text.length();
+        return this;
+    }
+
+    private ReportWriter append(char c) {
+        ensure(1);
+        buffer[position++] = c;
+        return this;
+    }
+
+    /**
+     * Appends a non-negative number.
+     */
+    private ReportWriter append(int value) {
+        ensure(10);
+        int digits = 1;
+        for (int rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+        return this;
+    }
+
+    /**
+     * Appends a line list in the List.toString form, "[1, 2, 3]".
+     */
+    private ReportWriter append(LineList lines) {
+        append('[');
+        int start = position;
+        lines.forEach(line -> {
+            if (position > start) {
+                append(", ");
+            }
+            append(line);
+        });
+        return append(']');
+    }
+
+    private void ensure(int needed) {
+        if (buffer.length - position < needed) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + needed));
+        }
+    }
+}
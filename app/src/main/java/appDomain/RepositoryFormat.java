@@ -0,0 +1,561 @@
+package appDomain;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * Reads and writes the WordTracker repository in a compact, versioned binary
+ * format instead of Java serialization. All integers are unsigned varints and
+ * all strings are varint length-prefixed UTF-8.
+ *
+ * <pre>
+ * magic "WTRK", version byte
+ * file count, file names          string table, referenced by index below
+ * word count
+ * per word, in ascending order:
+ *   word, entry count
+ *   per entry: file index, line count, byte count, packed line deltas
+ * file index, per file:
+ *   word count, byte count, word positions as ascending deltas
+ * key index                       8-byte offset of each word's record
+ * footer                          8-byte offset of the file index,
+ *                                 CRC-32 of everything before it,
+ *                                 8-byte offset of the key index, magic
+ * </pre>
+ *
+ * The line deltas are the packed form of LineList, so they are copied through
+ * without being decoded. Words are written in order, which lets the loader
+ * rebuild a balanced tree from the stream without any comparisons, and
+ * neither direction recurses over the tree. The fixed-width key index at the
+ * end lets MappedRepository binary-search the words in place, and the file
+ * index lets it report one file by decoding only the words that appear in
+ * it. The checksum
+ * is computed as each buffer is written and verified as each buffer is read,
+ * so it costs no extra pass over the data. Version 1 files have no key
+ * index, version 2 files no checksum and version 3 files no file index; all
+ * can still be read as a stream.
+ */
+public final class RepositoryFormat {
+    static final byte[] MAGIC = { 'W', 'T', 'R', 'K' };
+    static final int VERSION = 4;
+    /** Bytes from the key index offset to the end of the file. */
+    static final int FOOTER_SIZE = 8 + 4;
+    static final int CHECKSUM_SIZE = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private RepositoryFormat() {
+    }
+
+    /**
+     * Writes a repository tree to a stream.
+     *
+     * @param tree the repository to write
+     * @param out  the stream to write to; it is flushed but not closed
+     * @throws IOException if the stream cannot be written
+     */
+    public static void write(BSTree<WordTracker> tree, OutputStream out) throws IOException {
+        // Numbers the files in the order they are first seen, indexed by their
+        // ids in StringTable.FILES
+        int[] fileIds = new int[StringTable.FILES.size()];
+        Arrays.fill(fileIds, -1);
+        int fileCount = 0;
+        Encoder fileTable = new Encoder(null);
+        Iterator<WordTracker> it = tree.inorderIterator();
+        while (it.hasNext()) {
+            FileLines lines = it.next().lines();
+            for (int i = 0; i < lines.size(); i++) {
+                int file = lines.fileAt(i);
+                if (fileIds[file] < 0) {
+                    fileIds[file] = fileCount++;
+                    fileTable.writeString(StringTable.FILES.string(file));
+                }
+            }
+        }
+
+        Encoder encoder = new Encoder(out);
+        encoder.write(MAGIC, 0, MAGIC.length);
+        encoder.writeByte(VERSION);
+        encoder.writeVarInt(fileCount);
+        encoder.write(fileTable.buffer, 0, fileTable.position);
+
+        encoder.writeVarInt(tree.size());
+        long[] offsets = new long[tree.size()];
+        Postings[] fileWords = new Postings[fileCount];
+        for (int i = 0; i < fileWords.length; i++) {
+            fileWords[i] = new Postings();
+        }
+        int count = 0;
+        it = tree.inorderIterator();
+        while (it.hasNext()) {
+            WordTracker tracker = it.next();
+            offsets[count] = encoder.written();
+            encoder.writeString(tracker.getWord());
+            FileLines lines = tracker.lines();
+            encoder.writeVarInt(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                byte[] packed = lines.linesAt(i).packed();
+                int fileId = fileIds[lines.fileAt(i)];
+                encoder.writeVarInt(fileId);
+                encoder.writeVarInt(lines.linesAt(i).size());
+                encoder.writeVarInt(packed.length);
+                encoder.write(packed, 0, packed.length);
+                fileWords[fileId].add(count);
+            }
+            count++;
+        }
+
+        long fileIndexOffset = encoder.written();
+        for (Postings words : fileWords) {
+            encoder.writeVarInt(words.count);
+            encoder.writeVarInt(words.length);
+            encoder.write(words.bytes, 0, words.length);
+        }
+
+        long indexOffset = encoder.written();
+        for (long offset : offsets) {
+            encoder.writeLong(offset);
+        }
+        encoder.writeLong(fileIndexOffset);
+        int checksum = encoder.checksum();
+        encoder.writeByte(checksum >>> 24);
+        encoder.writeByte(checksum >>> 16);
+        encoder.writeByte(checksum >>> 8);
+        encoder.writeByte(checksum);
+        encoder.writeLong(indexOffset);
+        encoder.write(MAGIC, 0, MAGIC.length);
+        encoder.flush();
+    }
+
+    /**
+     * Writes a repository tree to a file without ever leaving a partly written
+     * file in its place. The tree is written to a temporary file next to it,
+     * synced to disk, and then renamed over the old file, so a crash at any
+     * point leaves either the old or the new repository intact. The folder is
+     * synced after the rename so that the rename itself survives a crash.
+     *
+     * @param tree the repository to write
+     * @param file the repository file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(BSTree<WordTracker> tree, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                write(tree, out);
+                out.getFD().sync();
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        syncDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Flushes a folder's entries to disk. Some platforms, such as Windows,
+     * cannot open a folder for this; their renames are left to the file
+     * system.
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported for folders on this platform
+        }
+    }
+
+    /**
+     * Returns the checksum recorded in a repository file, without reading the
+     * rest of the file.
+     *
+     * @param file the repository file
+     * @return the checksum, or 0 if the file does not exist or predates
+     *         checksums
+     * @throws IOException if the file cannot be read or is not a repository
+     */
+    public static int checksum(File file) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a WordTracker repository.");
+            }
+            if (in.readUnsignedByte() < 3) {
+                return 0;
+            }
+            in.seek(in.length() - FOOTER_SIZE - CHECKSUM_SIZE);
+            return in.readInt();
+        }
+    }
+
+    /**
+     * Reads a repository tree from a stream. The words arrive in order, so the
+     * tree is built balanced in linear time. The whole stream is read so that
+     * its checksum can be verified. Arrays grow as their contents arrive
+     * rather than being sized from the counts read, so a corrupt count or
+     * length ends in an IOException at the end of the stream instead of an
+     * allocation failure.
+     *
+     * @param in the stream to read from; it is not closed
+     * @return the repository tree
+     * @throws IOException if the stream cannot be read, is not a repository,
+     *                     or is truncated or corrupt
+     */
+    public static BSTree<WordTracker> read(InputStream in) throws IOException {
+        Decoder decoder = new Decoder(in);
+        byte[] magic = decoder.readBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a WordTracker repository.");
+        }
+        int version = decoder.readByte() & 0xFF;
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported repository version " + version + ".");
+        }
+
+        int fileCount = decoder.readLength();
+        int[] fileNames = new int[Math.min(fileCount, BUFFER_SIZE)];
+        for (int i = 0; i < fileCount; i++) {
+            if (i == fileNames.length) {
+                fileNames = Arrays.copyOf(fileNames, (int) Math.min(fileCount, 2L * i));
+            }
+            fileNames[i] = StringTable.FILES.id(decoder.readString());
+        }
+
+        int wordCount = decoder.readLength();
+        WordTracker[] words = new WordTracker[Math.min(wordCount, BUFFER_SIZE)];
+        for (int i = 0; i < wordCount; i++) {
+            if (i == words.length) {
+                words = Arrays.copyOf(words, (int) Math.min(wordCount, 2L * i));
+            }
+            WordTracker tracker = new WordTracker(decoder.readString());
+            int entries = decoder.readLength();
+            for (int j = 0; j < entries; j++) {
+                int fileId = decoder.readVarInt();
+                if (fileId < 0 || fileId >= fileCount) {
+                    throw new IOException("Repository is corrupt: unknown file " + fileId + ".");
+                }
+                int lineCount = decoder.readLength();
+                byte[] packed = decoder.readBytes(decoder.readLength());
+                tracker.lines().put(fileNames[fileId], new LineList(lineCount, packed));
+            }
+            words[i] = tracker;
+        }
+
+        if (version >= 4) {
+            for (int i = 0; i < fileNames.length; i++) {
+                decoder.readVarInt();
+                decoder.skip(decoder.readVarInt());
+            }
+        }
+        if (version >= 3) {
+            decoder.skip((long) words.length * 8 + (version >= 4 ? 8 : 0));
+            int expected = decoder.checksum();
+            int actual = 0;
+            for (int i = 0; i < CHECKSUM_SIZE; i++) {
+                actual = (actual << 8) | (decoder.readByte() & 0xFF);
+            }
+            decoder.skip(8);
+            if (actual != expected || !Arrays.equals(decoder.readBytes(MAGIC.length), MAGIC)) {
+                throw new IOException("Repository is corrupt: checksum mismatch.");
+            }
+        }
+        return BSTree.fromSorted(words);
+    }
+
+    /**
+     * Reads a repository saved by older versions as a serialized BSTree. Those
+     * trees did not balance themselves and can be as deep as they are large,
+     * so one that is not self-balancing is rebalanced in place, in linear
+     * time, before it is used. It is only changed by merges afterwards, which
+     * rebuild it balanced.
+     *
+     * @param in the stream to read from; it is not closed
+     * @return the repository tree, of minimal height
+     * @throws IOException if the stream cannot be read or does not hold a
+     *                     repository tree
+     */
+    @SuppressWarnings("unchecked")
+    public static BSTree<WordTracker> readLegacy(InputStream in) throws IOException {
+        BSTree<WordTracker> tree;
+        try {
+            tree = (BSTree<WordTracker>) new ObjectInputStream(in).readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not a WordTracker repository.", e);
+        }
+        if (!tree.isBalanced()) {
+            tree.rebalance();
+        }
+        return tree;
+    }
+
+    /**
+     * Collects the positions of the words that appear in one file as
+     * ascending varint deltas.
+     */
+    private static final class Postings {
+        private byte[] bytes = new byte[16];
+        private int length;
+        private int count;
+        private int last;
+
+        void add(int position) {
+            if (bytes.length - length < 5) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int value = position - last;
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+            last = position;
+            count++;
+        }
+    }
+
+    /**
+     * Buffers encoded bytes and writes them to a stream a block at a time. Unlike
+     * DataOutputStream over a BufferedOutputStream, a single byte costs an array
+     * store rather than a synchronized call.
+     */
+    static final class Encoder {
+        private final OutputStream out;
+        private final CRC32 crc = new CRC32();
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private long drained;
+
+        /**
+         * @param out the stream to write to, or null to collect the bytes in
+         *            the buffer
+         */
+        Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeByte(int value) throws IOException {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarInt(int value) throws IOException {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) throws IOException {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void write(byte[] bytes, int offset, int length) throws IOException {
+            if (out != null && length > buffer.length) {
+                drain();
+                crc.update(bytes, offset, length);
+                out.write(bytes, offset, length);
+                drained += length;
+                return;
+            }
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        void flush() throws IOException {
+            if (out != null) {
+                drain();
+                out.flush();
+            }
+        }
+
+        /**
+         * @return the CRC-32 of the bytes written to the stream so far,
+         *         including those still buffered
+         */
+        int checksum() throws IOException {
+            drain();
+            return (int) crc.getValue();
+        }
+
+        /**
+         * @return the number of bytes encoded so far
+         */
+        long written() {
+            return drained + position;
+        }
+
+        /**
+         * Makes room for the given number of bytes, by handing the buffered
+         * bytes to the stream or, without a stream, by growing the buffer.
+         */
+        private void ensure(int needed) throws IOException {
+            if (buffer.length - position >= needed) {
+                return;
+            }
+            if (out == null) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + needed));
+            } else {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            crc.update(buffer, 0, position);
+            out.write(buffer, 0, position);
+            drained += position;
+            position = 0;
+        }
+    }
+
+    /**
+     * Reads a stream a block at a time and decodes from the buffer without
+     * per-byte synchronization.
+     */
+    static final class Decoder {
+        private final InputStream in;
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private int checked;
+
+        Decoder(InputStream in) {
+            this.in = in;
+        }
+
+        byte readByte() throws IOException {
+            if (position == limit && !fill()) {
+                throw new EOFException("Repository ends unexpectedly.");
+            }
+            return buffer[position++];
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in repository.");
+        }
+
+        /**
+         * Reads a count or a length, which cannot be negative.
+         */
+        int readLength() throws IOException {
+            int length = readVarInt();
+            if (length < 0) {
+                throw new IOException("Repository is corrupt: invalid length " + length + ".");
+            }
+            return length;
+        }
+
+        /**
+         * Reads the given number of bytes into an array that grows only as
+         * they arrive, so a corrupt length fails at the end of the stream.
+         */
+        byte[] readBytes(int length) throws IOException {
+            if (length < 0) {
+                throw new IOException("Repository is corrupt: invalid length " + length + ".");
+            }
+            byte[] bytes = new byte[Math.min(length, BUFFER_SIZE)];
+            int copied = 0;
+            while (copied < length) {
+                if (position == limit && !fill()) {
+                    throw new EOFException("Repository ends unexpectedly.");
+                }
+                if (copied == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * copied));
+                }
+                int chunk = Math.min(bytes.length - copied, limit - position);
+                System.arraycopy(buffer, position, bytes, copied, chunk);
+                position += chunk;
+                copied += chunk;
+            }
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            int length = readLength();
+            if (limit - position >= length) {
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            return new String(readBytes(length), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Skips bytes, still including them in the checksum.
+         */
+        void skip(long length) throws IOException {
+            while (length > 0) {
+                if (position == limit && !fill()) {
+                    throw new EOFException("Repository ends unexpectedly.");
+                }
+                int chunk = (int) Math.min(length, limit - position);
+                position += chunk;
+                length -= chunk;
+            }
+        }
+
+        /**
+         * @return the CRC-32 of the bytes read so far
+         */
+        int checksum() {
+            crc.update(buffer, checked, position - checked);
+            checked = position;
+            return (int) crc.getValue();
+        }
+
+        private boolean fill() throws IOException {
+            crc.update(buffer, checked, limit - checked);
+            checked = 0;
+            int read = in.read(buffer);
+            if (read <= 0) {
+                position = limit = 0;
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package appDomain;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import utilities.KeyComparator;
+
+/**
+ * Measurements of one WordTracker run: the wall time and allocated bytes of
+ * each phase, the bytes, lines and words read, the tree inserts they took and
+ * the comparisons per insert, and the size of the tree and repository
+ * afterwards.
+ *
+ * A disabled instance records nothing. Its wrapping methods hand back the
+ * comparator or task they are given, so the indexing hot path runs exactly
+ * the same code as without statistics.
+ *
+ * Results can be printed, or written as JSON or in the Prometheus text
+ * format for the node exporter's textfile collector.
+ */
+public final class RunStats {
+    /** A disabled instance. */
+    public static final RunStats OFF = new RunStats(false);
+
+    private final boolean enabled;
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+    private final Map<String, Long> values = new LinkedHashMap<>();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder inserts = new LongAdder();
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder measuredAllocated = new LongAdder();
+    private final Set<Long> measuredThreads = ConcurrentHashMap.newKeySet();
+    private String phase;
+    private long phaseStart;
+    private long allocatedStart;
+
+    /**
+     * @param enabled whether to record anything
+     */
+    public RunStats(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns whether this instance records anything.
+     *
+     * @return whether statistics are enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ends the current phase, if any, and starts timing the next one. A phase
+     * that is entered more than once accumulates.
+     *
+     * @param name the phase
+     */
+    public void phase(String name) {
+        if (!enabled) {
+            return;
+        }
+        finish();
+        phase = name;
+        allocatedStart = allocatedBytes();
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the current phase.
+     */
+    public void finish() {
+        if (!enabled || phase == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - phaseStart;
+        long allocated = Math.max(0, allocatedBytes() - allocatedStart);
+        long[] totals = phases.computeIfAbsent(phase, name -> new long[2]);
+        totals[0] += elapsed;
+        totals[1] += allocated;
+        phase = null;
+    }
+
+    /**
+     * Records a measured value, replacing any earlier one of the same name.
+     *
+     * @param name  the value's name, in snake case
+     * @param value the value
+     */
+    public void set(String name, long value) {
+        if (enabled) {
+            values.put(name, value);
+        }
+    }
+
+    /**
+     * Wraps a comparator so that its calls are counted as tree comparisons.
+     *
+     * @param <K>        the type of the key
+     * @param <E>        the type of the elements
+     * @param comparator the comparator used to insert words
+     * @return the counting comparator, or the comparator itself if disabled
+     */
+    public <K, E> KeyComparator<K, E> counting(KeyComparator<K, E> comparator) {
+        if (!enabled) {
+            return comparator;
+        }
+        return (key, element) -> {
+            comparisons.increment();
+            return comparator.compare(key, element);
+        };
+    }
+
+    /**
+     * Wraps a task that runs on a thread of its own, such as a stage of the
+     * ingest pipeline, so that what the thread allocates is counted in the
+     * current phase even though the thread ends before the phase does. The
+     * phase must not end before the task has returned.
+     *
+     * @param task the task
+     * @return the measuring task, or the task itself if disabled
+     */
+    public Runnable measuring(Runnable task) {
+        if (!enabled) {
+            return task;
+        }
+        return () -> {
+            long start = currentThreadAllocatedBytes();
+            try {
+                task.run();
+            } finally {
+                measuredAllocated.add(Math.max(0, currentThreadAllocatedBytes() - start));
+                measuredThreads.add(Thread.currentThread().getId());
+            }
+        };
+    }
+
+    /**
+     * Counts input as it is indexed.
+     *
+     * @param fileBytes the bytes read
+     * @param lineCount the lines read, up to the last one holding a word
+     * @param words     the words read
+     * @param inserts   the tree inserts, or lookups of words already in the
+     *                  tree, taken to index them
+     */
+    public void count(long fileBytes, long lineCount, long words, long inserts) {
+        if (enabled) {
+            bytes.add(fileBytes);
+            lines.add(lineCount);
+            tokens.add(words);
+            this.inserts.add(inserts);
+        }
+    }
+
+    /**
+     * Prints the statistics in a table for people.
+     *
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        finish();
+        out.println("Run statistics");
+        out.printf(Locale.ROOT, "  %-12s %10s %14s%n", "phase", "seconds", "allocated MB");
+        for (Map.Entry<String, long[]> entry : phases.entrySet()) {
+            out.printf(Locale.ROOT, "  %-12s %10.3f %14.1f%n", entry.getKey(), entry.getValue()[0] / 1e9,
+                    entry.getValue()[1] / (1024.0 * 1024.0));
+        }
+        for (Map.Entry<String, Number> entry : totals().entrySet()) {
+            out.printf(Locale.ROOT, "  %-24s %s%n", entry.getKey().replace('_', ' '), format(entry.getValue()));
+        }
+    }
+
+    /**
+     * Writes the statistics to a file, in the Prometheus text format if its
+     * name ends in .prom and as JSON otherwise. The file is replaced
+     * atomically, so a collector never reads it half-written.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        finish();
+        String text = file.getName().endsWith(".prom") ? toPrometheus() : toJson();
+        File temporary = new File(file.getPath() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temporary.toPath(), StandardCharsets.UTF_8)) {
+            out.write(text);
+        }
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the statistics as a JSON object.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"phases\": {");
+        String separator = "\n";
+        for (Map.Entry<String, long[]> entry : phases.entrySet()) {
+            json.append(separator).append("    \"").append(entry.getKey()).append("\": { \"seconds\": ")
+                    .append(format(entry.getValue()[0] / 1e9)).append(", \"allocated_bytes\": ")
+                    .append(entry.getValue()[1]).append(" }");
+            separator = ",\n";
+        }
+        json.append(phases.isEmpty() ? "}" : "\n  }");
+        for (Map.Entry<String, Number> entry : totals().entrySet()) {
+            json.append(",\n  \"").append(entry.getKey()).append("\": ").append(format(entry.getValue()));
+        }
+        return json.append("\n}\n").toString();
+    }
+
+    /**
+     * Returns the statistics in the Prometheus text exposition format, as
+     * gauges named wordtracker_*.
+     *
+     * @return the metrics text
+     */
+    public String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+        if (!phases.isEmpty()) {
+            text.append("# HELP wordtracker_phase_seconds Wall time of each phase of the last run.\n");
+            text.append("# TYPE wordtracker_phase_seconds gauge\n");
+            for (Map.Entry<String, long[]> entry : phases.entrySet()) {
+                text.append("wordtracker_phase_seconds{phase=\"").append(entry.getKey()).append("\"} ")
+                        .append(format(entry.getValue()[0] / 1e9)).append('\n');
+            }
+            text.append("# HELP wordtracker_phase_allocated_bytes Bytes allocated during each phase of the last run.\n");
+            text.append("# TYPE wordtracker_phase_allocated_bytes gauge\n");
+            for (Map.Entry<String, long[]> entry : phases.entrySet()) {
+                text.append("wordtracker_phase_allocated_bytes{phase=\"").append(entry.getKey()).append("\"} ")
+                        .append(entry.getValue()[1]).append('\n');
+            }
+        }
+        for (Map.Entry<String, Number> entry : totals().entrySet()) {
+            String name = "wordtracker_" + entry.getKey();
+            text.append("# TYPE ").append(name).append(" gauge\n");
+            text.append(name).append(' ').append(format(entry.getValue())).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Collects the counters, the rates derived from them and the recorded
+     * values, in output order.
+     */
+    private Map<String, Number> totals() {
+        Map<String, Number> totals = new LinkedHashMap<>();
+        if (bytes.sum() > 0 || tokens.sum() > 0) {
+            long[] index = phases.get("index");
+            double seconds = index == null ? 0 : index[0] / 1e9;
+            totals.put("bytes_read", bytes.sum());
+            totals.put("lines_read", lines.sum());
+            totals.put("tokens", tokens.sum());
+            totals.put("tokens_per_second", seconds > 0 ? tokens.sum() / seconds : 0.0);
+            totals.put("tree_inserts", inserts.sum());
+            totals.put("comparisons_per_insert", inserts.sum() > 0 ? (double) comparisons.sum() / inserts.sum() : 0.0);
+        }
+        totals.putAll(values);
+        return totals;
+    }
+
+    private static String format(Number value) {
+        if (value instanceof Double) {
+            return String.format(Locale.ROOT, "%.3f", value.doubleValue());
+        }
+        return value.toString();
+    }
+
+    /**
+     * Returns the bytes allocated so far by the threads of this run, or 0 if
+     * the JVM cannot tell: what each live thread has allocated, except those
+     * whose tasks are measured, plus what the measured tasks allocated. Other
+     * threads that have ended are not counted, so work on short-lived threads
+     * that is not wrapped with {@link #measuring(Runnable)} is under-reported.
+     */
+    private long allocatedBytes() {
+        com.sun.management.ThreadMXBean allocations = allocations();
+        if (allocations == null) {
+            return 0;
+        }
+        long[] ids = allocations.getAllThreadIds();
+        long[] allocated = allocations.getThreadAllocatedBytes(ids);
+        long total = measuredAllocated.sum();
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] > 0 && !measuredThreads.contains(ids[i])) {
+                total += allocated[i];
+            }
+        }
+        return total;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        com.sun.management.ThreadMXBean allocations = allocations();
+        return allocations == null ? 0 : allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return the JVM's per-thread allocation counters, or null if it does not
+     *         keep them
+     */
+    private static com.sun.management.ThreadMXBean allocations() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        return allocations;
+    }
+}
@@ -0,0 +1,174 @@
+package appDomain;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A streaming tokenizer that scans each character once, folds case and drops
+ * apostrophes inline, and hands words to the sink from a reused buffer. It
+ * produces the same words and line numbers as RegexTokenizer without
+ * allocating a lower-cased copy of each line, a String[] or per-word Strings.
+ *
+ * Case folding follows String.toLowerCase for the given locale one character
+ * at a time. The only difference from lower-casing a whole line is the
+ * context rule of the Turkish and Azeri locales that turns 'I' followed by a
+ * combining dot above into 'i'.
+ */
+public class ScannerTokenizer implements Tokenizer {
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /** Characters below this are folded through a table built from the locale. */
+    private static final int TABLE_SIZE = 0x180;
+
+    private final String[] folded = new String[TABLE_SIZE];
+
+    /**
+     * Constructor to initialize a ScannerTokenizer that folds case with the
+     * default locale, as String.toLowerCase() does.
+     */
+    public ScannerTokenizer() {
+        this(Locale.getDefault());
+    }
+
+    /**
+     * Constructor to initialize a ScannerTokenizer for a given locale.
+     *
+     * @param locale the locale whose case rules are used
+     */
+    public ScannerTokenizer(Locale locale) {
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            folded[c] = String.valueOf((char) c).toLowerCase(locale);
+        }
+    }
+
+    @Override
+    public void tokenize(Reader in, TokenSink sink) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        Word word = new Word();
+        int lineNumber = 1;
+        boolean afterCarriageReturn = false;
+        int read;
+
+        while ((read = in.read(buffer)) != -1) {
+            lineNumber = scan(buffer, read, afterCarriageReturn, lineNumber, word, sink);
+            afterCarriageReturn = read > 0 && buffer[read - 1] == '\r';
+        }
+        word.flush(sink, lineNumber);
+    }
+
+    /**
+     * Splits a block of text on its own, numbering its lines from a given
+     * line. A text cut into blocks right after line feeds yields the same
+     * words and line numbers, block by block, as reading it whole, given the
+     * right first line for each block.
+     *
+     * @param text       the characters to split
+     * @param length     the number of characters of text to split
+     * @param firstLine  the number of the block's first line
+     * @param sink       receives each word with its line number
+     * @return the number of the line after the last line end in the block
+     */
+    public int tokenize(char[] text, int length, int firstLine, TokenSink sink) {
+        Word word = new Word();
+        int lineNumber = scan(text, length, false, firstLine, word, sink);
+        word.flush(sink, lineNumber);
+        return lineNumber;
+    }
+
+    /**
+     * Scans a run of characters, carrying the current word and line number
+     * over from the run before it.
+     *
+     * @return the line number at the end of the run
+     */
+    private int scan(char[] buffer, int count, boolean afterCarriageReturn, int lineNumber, Word word,
+            TokenSink sink) {
+        for (int i = 0; i < count; i++) {
+            char c = buffer[i];
+            if (c >= 'a' && c <= 'z') {
+                word.append(c);
+            } else if (c == '\n' || c == '\r') {
+                word.flush(sink, lineNumber);
+                if (c == '\r' || !afterCarriageReturn) {
+                    lineNumber++;
+                }
+            } else if (c == '\'') {
+                // apostrophes are dropped without ending the word
+            } else if (c < TABLE_SIZE) {
+                fold(folded[c], word, sink, lineNumber);
+            } else {
+                char lower = Character.toLowerCase(c);
+                if (lower >= 'a' && lower <= 'z') {
+                    word.append(lower);
+                } else {
+                    word.flush(sink, lineNumber);
+                }
+            }
+            afterCarriageReturn = (c == '\r');
+        }
+        return lineNumber;
+    }
+
+    /**
+     * Feeds the lower-case form of one character, which may be several
+     * characters long, into the current word.
+     */
+    private static void fold(String lower, Word word, TokenSink sink, int lineNumber) {
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                word.append(c);
+            } else if (c != '\'') {
+                word.flush(sink, lineNumber);
+            }
+        }
+    }
+
+    /**
+     * The reusable buffer a word is collected in, exposed to the sink as a
+     * CharSequence.
+     */
+    private static final class Word implements CharSequence {
+        private char[] chars = new char[32];
+        private int length;
+
+        void append(char c) {
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, length * 2);
+            }
+            chars[length++] = c;
+        }
+
+        void flush(TokenSink sink, int lineNumber) {
+            if (length > 0) {
+                sink.token(this, lineNumber);
+                length = 0;
+            }
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= length) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
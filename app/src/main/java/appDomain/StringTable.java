@@ -0,0 +1,97 @@
+package appDomain;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps strings to dense int ids, handed out in order from 0, and back. Each
+ * distinct string is stored once, so structures that refer to it can hold a
+ * 4-byte id instead of a reference to their own copy.
+ *
+ * Ids are only assigned under a lock; looking up an id or a string never
+ * blocks, so tables can be read while files are indexed in parallel.
+ */
+public final class StringTable {
+    /** The names of the files recorded in WordTracker line lists. */
+    public static final StringTable FILES = new StringTable();
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] strings = new String[16];
+    private int size;
+
+    /**
+     * Returns the id of a string, assigning the next id if it has none yet.
+     *
+     * @param string the string to look up
+     * @return its id
+     * @throws NullPointerException if the string is null
+     */
+    public int id(String string) {
+        if (string == null) {
+            throw new NullPointerException("String cannot be null.");
+        }
+        Integer id = ids.get(string);
+        return id != null ? id : assign(string);
+    }
+
+    /**
+     * Returns the id of a string without assigning one.
+     *
+     * @param string the string to look up
+     * @return its id, or -1 if it has none
+     */
+    public int find(Object string) {
+        Integer id = string == null ? null : ids.get(string);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Returns the string with an id.
+     *
+     * @param id an id returned by this table
+     * @return the string
+     * @throws IndexOutOfBoundsException if no string has the id
+     */
+    public String string(int id) {
+        String string = strings[id];
+        if (string == null) {
+            throw new IndexOutOfBoundsException("No string with id " + id + ".");
+        }
+        return string;
+    }
+
+    /**
+     * Returns the single copy of a string kept by the table, assigning it an
+     * id if it has none yet.
+     *
+     * @param string the string to look up
+     * @return the table's copy
+     */
+    public String intern(String string) {
+        return string(id(string));
+    }
+
+    /**
+     * Returns the number of ids assigned.
+     *
+     * @return number of strings in the table
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized int assign(String string) {
+        Integer id = ids.get(string);
+        if (id != null) {
+            return id;
+        }
+        String[] current = strings;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = string;
+        strings = current;
+        ids.put(string, size);
+        return size++;
+    }
+}
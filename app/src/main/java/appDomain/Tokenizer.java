@@ -0,0 +1,37 @@
+package appDomain;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A Tokenizer splits text into the words WordTracker indexes. Words are runs
+ * of the letters a-z and apostrophes, folded to lower case, with the
+ * apostrophes removed; empty words are skipped.
+ */
+public interface Tokenizer {
+
+    /**
+     * Receives the words found by a Tokenizer.
+     */
+    interface TokenSink {
+        /**
+         * Called once per word, in reading order. The character sequence may be
+         * reused by the tokenizer after this call returns, so it must be copied
+         * if it is kept.
+         *
+         * @param word       the lower-cased word
+         * @param lineNumber the 1-based line the word was found on
+         */
+        void token(CharSequence word, int lineNumber);
+    }
+
+    /**
+     * Reads the input to its end and passes every word to the sink. Lines are
+     * terminated the same way as by BufferedReader.readLine.
+     *
+     * @param in   the text to split
+     * @param sink receives each word with its line number
+     * @throws IOException if the input cannot be read
+     */
+    void tokenize(Reader in, TokenSink sink) throws IOException;
+}
@@ -0,0 +1,769 @@
+package appDomain;
+
+import java.io.*;
+import java.util.*;
+
+import implementations.BSTree;
+import implementations.BSTreeNode;
+import utilities.Iterator;
+import utilities.KeyComparator;
+
+/**
+ * The WordTracker class processes a text file to track word occurrences
+ * and the line numbers on which they appear. It stores data in a BST,
+ * saves it to a repository file, and formats output to console or file.
+ * 
+ * Usage:
+ * java WordTracker <input.txt|dir|glob>... -pf|-pl|-po [-f<output.txt>]
+ * java WordTracker -w<word>|-s<prefix>|-r<input.txt> -pf|-pl|-po [-f<output.txt>]
+ * java WordTracker -c
+ * java WordTracker --server[=<port>] [--save-every=<seconds>]
+ * Any of these can end with --stats or --stats=<stats.json|stats.prom>
+ *
+ *Flag options: 
+ * -pf : show file names only
+ * -pl : show file names with line numbers
+ * -po : show file names, line numbers, and total occurrences
+ * -f<output.txt> : optionally write output to a file
+ * -w<word> : query one word in the repository without indexing anything
+ * -s<prefix> : query every word in the repository that starts with a prefix
+ * -r<input.txt> : report a file already in the repository without indexing it
+ * -c : compact the update log into the repository file
+ * --server : keep the repository in memory and answer the commands above,
+ *            one per line, from stdin, or from a loopback port if one is
+ *            given; see IndexServer
+ * --save-every=<seconds> : how often the server saves new occurrences
+ *                          (default 60; 0 saves only on request and on exit)
+ * --stats : print the time and work of each phase to stderr
+ * --stats=<file> : also write them to a file, in the Prometheus text format
+ *                  if its name ends in .prom and as JSON otherwise
+ */
+public class WordTracker implements Comparable<WordTracker>, Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String word;
+    private Map<String, LineList> fileLines;
+    private static final String REPO_FILE = "repository.dat";
+    private static final String LEGACY_REPO_FILE = "repository.ser";
+    private static final String LOG_FILE = "repository.log";
+
+    /** The update log is folded into the repository file once it grows past this share of it. */
+    private static final double COMPACT_RATIO = 0.5;
+    private static final long COMPACT_MIN_BYTES = 1024 * 1024;
+    /** Queries look words up in every block of the update log, so it is also folded in once it holds this many. */
+    private static final int COMPACT_MAX_BLOCKS = 64;
+
+    /**
+     * Orders a raw word against a WordTracker, consistently with compareTo, so
+     * the tree can be probed with a String or a slice of a line buffer.
+     */
+    public static final KeyComparator<CharSequence, WordTracker> WORD_ORDER = WordTracker::compareWord;
+    
+    /**
+     * Constructor to initialize a WordTracker object.
+     *
+     * @param word       the word being tracked
+     * @param fileName   the file in which the word appears
+     * @param lineNumber the line number where the word appears
+     */
+    public WordTracker(String word, String fileName, int lineNumber) {
+        this(word);
+        addOccurrence(fileName, lineNumber);
+    }
+
+    /**
+     * Constructor to initialize a WordTracker with no occurrences yet.
+     *
+     * @param word the word being tracked
+     */
+    public WordTracker(String word) {
+        this.word = word;
+        this.fileLines = new FileLines();
+    }
+
+    
+    /**
+     * Adds an occurrence of the word to the tracking map if not already present.
+     *
+     * @param fileName   the file in which the word was found
+     * @param lineNumber the line number of the occurrence
+     */
+
+    public void addOccurrence(String fileName, int lineNumber) {
+        addOccurrence(StringTable.FILES.id(fileName), lineNumber);
+    }
+
+    
+    /**
+     * Adds an occurrence of the word in a file identified by its id in
+     * StringTable.FILES, which saves looking the name up for every word.
+     *
+     * @param file       the id of the file in which the word was found
+     * @param lineNumber the line number of the occurrence
+     */
+    public void addOccurrence(int file, int lineNumber) {
+        lines().getOrAdd(file).add(lineNumber);
+    }
+
+    
+    /**
+     * Packs every line list of this word into its compact form.
+     */
+    public void seal() {
+        FileLines lines = lines();
+        for (int i = 0; i < lines.size(); i++) {
+            lines.linesAt(i).seal();
+        }
+    }
+
+    
+    /**
+     * Adds this word to the per-file word lists of the files it appears in.
+     * Only files that already have a list are indexed; the others are
+     * skipped. Called in word order, this leaves each list sorted.
+     *
+     * @param fileWords word lists keyed by file name
+     */
+    public void indexFiles(Map<String, List<WordTracker>> fileWords) {
+        if (fileWords.size() < fileLines.size()) {
+            for (Map.Entry<String, List<WordTracker>> entry : fileWords.entrySet()) {
+                if (fileLines.containsKey(entry.getKey())) {
+                    entry.getValue().add(this);
+                }
+            }
+        } else {
+            for (String fileName : fileLines.keySet()) {
+                List<WordTracker> words = fileWords.get(fileName);
+                if (words != null) {
+                    words.add(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the word being tracked.
+     *
+     * @return word
+     */
+    public String getWord() { return word; }
+
+    
+    /**
+     * Returns the file-line mapping of word occurrences.
+     *
+     * @return map of filenames to list of line numbers
+     */
+    public Map<String, LineList> getFileLines() { return fileLines; }
+
+    
+    /**
+     * Returns the line lists keyed by file id.
+     *
+     * @return the line lists
+     */
+    FileLines lines() { return (FileLines) fileLines; }
+
+    
+    /**
+     * Serialized repositories hold a HashMap per word, which is moved into
+     * file-id form on load. Those saved before line numbers were packed hold
+     * a List of boxed Integers per file; those are converted to LineLists.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        FileLines lines = new FileLines();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) fileLines).entrySet()) {
+            int file = StringTable.FILES.id((String) entry.getKey());
+            if (entry.getValue() instanceof List) {
+                LineList list = new LineList();
+                for (Object line : (List<?>) entry.getValue()) {
+                    list.add((Integer) line);
+                }
+                list.seal();
+                lines.put(file, list);
+            } else {
+                lines.put(file, (LineList) entry.getValue());
+            }
+        }
+        fileLines = lines;
+    }
+
+    
+    /**
+     * Compares this WordTracker to another based on the word value.
+     */
+    @Override
+    public int compareTo(WordTracker other) { return this.word.compareTo(other.word); }
+
+
+    /**
+     * Compares a character sequence to the word of a WordTracker using the same
+     * lexicographic ordering as String.compareTo, without copying the sequence.
+     *
+     * @param key     the word being looked up
+     * @param tracker the WordTracker to compare against
+     * @return negative, zero, or positive as key sorts before, equal to, or after
+     */
+    private static int compareWord(CharSequence key, WordTracker tracker) {
+        String word = tracker.word;
+        int keyLength = key.length();
+        int wordLength = word.length();
+        int limit = Math.min(keyLength, wordLength);
+        for (int i = 0; i < limit; i++) {
+            char a = key.charAt(i);
+            char b = word.charAt(i);
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return keyLength - wordLength;
+    }
+
+
+    /**
+     * Appends every occurrence recorded by another WordTracker for the same
+     * word to this one. Line numbers from the other tracker go after the ones
+     * already recorded here.
+     *
+     * @param other the WordTracker whose occurrences are added
+     * @return this WordTracker
+     */
+    public WordTracker addAll(WordTracker other) {
+        FileLines lines = lines();
+        FileLines otherLines = other.lines();
+        for (int i = 0; i < otherLines.size(); i++) {
+            lines.getOrAdd(otherLines.fileAt(i)).addAll(otherLines.linesAt(i));
+        }
+        return this;
+    }
+
+
+    /**
+     * Main method for executing the WordTracker application.
+     * Parses input arguments, indexes the input files in parallel, and prints or saves output.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+    	
+        // Statistics options may appear anywhere and are taken out first
+        List<String> arguments = new ArrayList<>();
+        String statsFile = null;
+        boolean statsEnabled = false;
+        for (String arg : args) {
+            if (arg.equals("--stats") || arg.startsWith("--stats=")) {
+                statsEnabled = true;
+                statsFile = arg.length() > "--stats=".length() ? arg.substring("--stats=".length()) : statsFile;
+            } else {
+                arguments.add(arg);
+            }
+        }
+        // The statistics cover one run; a server has no single run to measure
+        if (statsEnabled && !arguments.isEmpty()
+                && (arguments.get(0).equals("--server") || arguments.get(0).startsWith("--server="))) {
+            System.err.println("Usage: java WordTracker --server[=<port>] [--save-every=<seconds>]");
+            System.err.println("--stats measures a single command and cannot be used with --server.");
+            return;
+        }
+        RunStats stats = statsEnabled ? new RunStats(true) : RunStats.OFF;
+        run(arguments.toArray(new String[0]), stats);
+
+        if (stats.isEnabled()) {
+            stats.print(System.err);
+            if (statsFile != null) {
+                try {
+                    stats.write(new File(statsFile));
+                } catch (IOException e) {
+                    System.err.println("Error writing statistics: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the command given by the arguments other than the statistics
+     * options.
+     *
+     * @param args  command line arguments
+     * @param stats receives the measurements of the run
+     */
+    private static void run(String[] args, RunStats stats) {
+
+        // A long-running server answers many commands from one loaded repository
+        if (args.length >= 1 && (args[0].equals("--server") || args[0].startsWith("--server="))) {
+            serve(args);
+            return;
+        }
+
+        // Queries read the repository in place instead of indexing
+        if (args.length >= 2 && (args[0].startsWith("-w") || args[0].startsWith("-s") || args[0].startsWith("-r"))) {
+            query(args, stats);
+            return;
+        }
+
+        // Explicit compaction of the update log
+        if (args.length == 1 && args[0].equals("-c")) {
+            stats.phase("load");
+            BSTree<WordTracker> wordTree = loadRepository();
+            if (wordTree != null) {
+                stats.phase("save");
+                compactRepository(wordTree);
+                recordRepository(stats, wordTree);
+            }
+            stats.finish();
+            return;
+        }
+
+        // Input files, directories or globs come before the display flag
+        int flagIndex = 0;
+        while (flagIndex < args.length && !args[flagIndex].startsWith("-p")) {
+            flagIndex++;
+        }
+
+        // Validate command-line arguments
+        if (flagIndex == 0 || flagIndex == args.length) {
+            System.err.println("Usage: java WordTracker <input.txt|dir|glob>... -pf|-pl|-po [-f<output.txt>]");
+            return;
+        }
+
+        String flag = args[flagIndex];
+        String outputFile = null;
+
+        // Check if output file is specified
+        if (args.length == flagIndex + 2 && args[flagIndex + 1].startsWith("-f")) {
+            outputFile = args[flagIndex + 1].substring(2);
+        }
+
+        // Load the tree from the repository and its update log if they exist
+        stats.phase("load");
+        BSTree<WordTracker> wordTree = loadRepository();
+        if (wordTree == null) {
+            return;
+        }
+
+        
+        // Read files and populate tree
+        List<String> inputFiles;
+        BSTree<WordTracker> added;
+        try {
+            inputFiles = InputFiles.expand(Arrays.asList(args).subList(0, flagIndex));
+            stats.phase("index");
+            added = indexFiles(inputFiles, stats);
+            stats.phase("merge");
+            wordTree.merge(added, WordTracker::addAll);
+        } catch (IOException e) {
+            System.err.println("Error reading input file: " + e.getMessage());
+            return;
+        }
+
+        // Pack the line lists before they are kept and saved, noting on the
+        // way which words appear in each input file so reports skip the rest
+        stats.phase("seal");
+        Map<String, List<WordTracker>> fileWords = new HashMap<>();
+        for (String inputFile : inputFiles) {
+            fileWords.put(inputFile, new ArrayList<>());
+        }
+        Iterator<WordTracker> sealer = wordTree.inorderIterator();
+        while (sealer.hasNext()) {
+            WordTracker wordTracker = sealer.next();
+            wordTracker.seal();
+            wordTracker.indexFiles(fileWords);
+        }
+
+        // Save the new occurrences to the repository
+        stats.phase("save");
+        saveRepository(wordTree, added);
+        recordRepository(stats, wordTree);
+        
+        
+        // Format output, one report per input file, written as it is formatted
+        stats.phase("format");
+        try (ReportWriter report = openReport(outputFile)) {
+            for (String inputFile : inputFiles) {
+                System.out.println("Displaying " + flag + " format");
+                for (WordTracker wordTracker : fileWords.get(inputFile)) {
+                    report.write(wordTracker, flag, inputFile);
+                }
+                if (outputFile == null) {
+                    report.write(System.lineSeparator());
+                    report.flush();
+                    System.out.println("Not exporting file.");
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing output file: " + e.getMessage());
+        }
+        stats.finish();
+    }
+
+    /**
+     * Loads the repository and serves it until the server is shut down or,
+     * on stdin, until the input ends, then saves what is left unsaved.
+     * Messages go to stderr so they never mix with the responses.
+     */
+    private static void serve(String[] args) {
+        int port = -1;
+        long saveSeconds = 60;
+        try {
+            if (args[0].startsWith("--server=")) {
+                port = Integer.parseInt(args[0].substring("--server=".length()));
+            }
+            for (int i = 1; i < args.length; i++) {
+                if (!args[i].startsWith("--save-every=")) {
+                    throw new NumberFormatException(args[i]);
+                }
+                saveSeconds = Long.parseLong(args[i].substring("--save-every=".length()));
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: java WordTracker --server[=<port>] [--save-every=<seconds>]");
+            return;
+        }
+
+        PrintStream responses = System.out;
+        System.setOut(System.err);
+        BSTree<WordTracker> wordTree = loadRepository();
+        if (wordTree == null) {
+            return;
+        }
+        IndexServer server = new IndexServer(wordTree);
+        try {
+            if (port < 0) {
+                server.serve(new InputStreamReader(System.in), new OutputStreamWriter(responses), saveSeconds);
+            } else {
+                server.serve(port, saveSeconds);
+            }
+        } catch (IOException e) {
+            System.err.println("Server stopped: " + e.getMessage());
+        }
+        server.save();
+    }
+
+    /**
+     * Records the size of the tree and of the repository files.
+     */
+    private static void recordRepository(RunStats stats, BSTree<WordTracker> tree) {
+        stats.set("words", tree.size());
+        stats.set("tree_height", tree.getHeight());
+        stats.set("repository_bytes", new File(REPO_FILE).length() + new File(LOG_FILE).length());
+    }
+
+    /**
+     * Answers a word query (-w), a prefix query (-s) or a file report (-r)
+     * from the memory-mapped repository. Only the header, the key index entries visited by the
+     * search and the matching records are read, so startup does not depend
+     * on the size of the repository. Updates still in repository.log are
+     * looked up the same way in each of its blocks, which are mapped in place,
+     * and their records are added after the repository's. The log is folded
+     * into the repository before it holds more than a bounded number of
+     * blocks, so a query reads a bounded number of key indexes.
+     *
+     * @param args  command line arguments
+     * @param stats receives the measurements of the query
+     */
+    private static void query(String[] args, RunStats stats) {
+        String flag = args[1];
+        String outputFile = (args.length == 3 && args[2].startsWith("-f")) ? args[2].substring(2) : null;
+        String target = args[0].substring(2);
+
+        File base = new File(REPO_FILE);
+        File log = new File(LOG_FILE);
+        if (!base.exists() && !log.exists()) {
+            System.err.println("No repository found: " + REPO_FILE);
+            return;
+        }
+
+        try (ReportWriter report = openReport(outputFile)) {
+            System.out.println("Displaying " + flag + " format");
+            stats.phase("load");
+            try (MappedRepository repository = base.exists() ? new MappedRepository(base.toPath()) : null;
+                    RandomAccessFile logFile = log.exists() ? new RandomAccessFile(log, "r") : null) {
+                List<MappedRepository> updates = logFile == null ? Collections.emptyList()
+                        : DeltaLog.map(logFile, RepositoryFormat.checksum(base));
+                stats.set("repository_bytes", base.length() + log.length());
+                stats.phase("format");
+                if (args[0].startsWith("-w")) {
+                    String word = target.toLowerCase();
+                    WordTracker wordTracker = repository == null ? null : repository.get(word);
+                    for (MappedRepository block : updates) {
+                        WordTracker update = block.get(word);
+                        if (wordTracker == null) {
+                            wordTracker = update;
+                        } else if (update != null) {
+                            wordTracker.addAll(update);
+                        }
+                    }
+                    if (wordTracker != null) {
+                        writeAllFiles(report, wordTracker, flag);
+                    }
+                } else if (args[0].startsWith("-s")) {
+                    // Every source seeks to the prefix and stops at the first
+                    // word past it, so only the matching words are read
+                    String prefix = target.toLowerCase();
+                    String end = prefixEnd(prefix);
+                    Iterator<WordTracker> words = repository == null ? null : repository.range(prefix, end);
+                    for (MappedRepository block : updates) {
+                        words = combine(words, block.range(prefix, end));
+                    }
+                    while (words != null && words.hasNext()) {
+                        writeAllFiles(report, words.next(), flag);
+                    }
+                } else {
+                    Iterator<WordTracker> words = repository == null ? null : repository.fileWords(target);
+                    for (MappedRepository block : updates) {
+                        words = combine(words, block.fileWords(target));
+                    }
+                    while (words != null && words.hasNext()) {
+                        report.write(words.next(), flag, target);
+                    }
+                }
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Could not read repository: " + e.getMessage());
+                return;
+            }
+
+            if (outputFile == null) {
+                report.write(System.lineSeparator());
+                report.flush();
+                System.out.println("Not exporting file.");
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing output file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the entries of one word for every file it appears in, in file
+     * name order.
+     */
+    static void writeAllFiles(ReportWriter report, WordTracker wordTracker, String flag) throws IOException {
+        for (String fileName : new TreeSet<>(wordTracker.getFileLines().keySet())) {
+            report.write(wordTracker, flag, fileName);
+        }
+    }
+
+    /**
+     * Merge-joins the words of the repository file with the words of the
+     * update log, both in ascending order. A word found in both is returned
+     * once, with the logged occurrences added after the mapped ones.
+     *
+     * @param mapped words read from repository.dat or combined so far, or null
+     *               if there are none
+     * @param logged words read from one block of repository.log
+     * @return the combined words in ascending order
+     */
+    private static Iterator<WordTracker> combine(Iterator<WordTracker> mapped, Iterator<WordTracker> logged) {
+        return new Iterator<WordTracker>() {
+            private WordTracker left = mapped != null && mapped.hasNext() ? mapped.next() : null;
+            private WordTracker right = logged.hasNext() ? logged.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return left != null || right != null;
+            }
+
+            @Override
+            public WordTracker next() throws NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements.");
+                }
+                int cmp = left == null ? 1 : right == null ? -1 : left.compareTo(right);
+                WordTracker wordTracker = cmp <= 0 ? left : right;
+                if (cmp == 0) {
+                    wordTracker.addAll(right);
+                }
+                if (cmp <= 0) {
+                    left = mapped.hasNext() ? mapped.next() : null;
+                }
+                if (cmp >= 0) {
+                    right = logged.hasNext() ? logged.next() : null;
+                }
+                return wordTracker;
+            }
+        };
+    }
+
+    /**
+     * Returns the smallest string greater than every string that starts with
+     * a prefix: the prefix with its last character incremented, after dropping
+     * trailing characters that cannot be.
+     *
+     * @param prefix the prefix
+     * @return the end of the prefix range, or null if no string bounds it
+     */
+    static String prefixEnd(String prefix) {
+        int last = prefix.length() - 1;
+        while (last >= 0 && prefix.charAt(last) == Character.MAX_VALUE) {
+            last--;
+        }
+        if (last < 0) {
+            return null;
+        }
+        return prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+    }
+
+    /**
+     * Indexes the input files through an IngestPipeline, which reads, splits
+     * and indexes them at the same time. Files are indexed in order into one
+     * tree, so line numbers are appended exactly as if the files had been
+     * indexed one after another.
+     *
+     * @param inputFiles the files to index
+     * @param stats      counts the bytes, lines and words read
+     * @return the combined index of all input files
+     * @throws IOException if any file cannot be read
+     */
+    static BSTree<WordTracker> indexFiles(List<String> inputFiles, RunStats stats) throws IOException {
+        return new IngestPipeline().index(inputFiles, stats);
+    }
+
+    /**
+     * Opens the destination of a report: the output file if one was given,
+     * otherwise the console. Closing a console report only flushes it.
+     *
+     * @param outputFile the output file, or null for the console
+     * @return the report writer
+     * @throws IOException if the output file cannot be created
+     */
+    private static ReportWriter openReport(String outputFile) throws IOException {
+        if (outputFile != null) {
+            return new ReportWriter(new FileWriter(outputFile));
+        }
+        return new ReportWriter(new OutputStreamWriter(System.out) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+    }
+
+    /**
+     * Searches the BST for an existing WordTracker by word, without allocating
+     * a probe object.
+     *
+     * @param tree the BSTree to search in
+     * @param word the word to look for
+     * @return existing WordTracker if found, null if not
+     */
+    public static WordTracker searchWord(BSTree<WordTracker> tree, CharSequence word) {
+        BSTreeNode<WordTracker> resultNode = tree.search(word, WORD_ORDER);
+        return (resultNode != null) ? resultNode.getElement() : null;
+    }
+
+    /**
+     * Loads a previously saved BSTree from the repository.dat file and replays
+     * the updates appended to repository.log since it was written. If there is
+     * no repository.dat yet, a repository.ser written by earlier versions with
+     * Java serialization is used as the base instead; it is replaced by
+     * repository.dat at the next save. Those older trees are rebuilt into
+     * a balanced tree in linear time, straight from their sorted contents.
+     *
+     * A repository that exists but cannot be read is reported and left alone
+     * rather than replaced by an empty one, so a damaged file never leads to
+     * its data being overwritten.
+     *
+     * @return loaded BSTree, a new tree if none was found, or null if the
+     *         repository or its update log cannot be read
+     */
+    static BSTree<WordTracker> loadRepository() {
+    	
+        BSTree<WordTracker> tree = new BSTree<>(true);
+        File file = new File(REPO_FILE);
+        File legacyFile = new File(LEGACY_REPO_FILE);
+        if (file.exists()) {
+        	
+            try (InputStream in = new FileInputStream(file)) {
+                tree = RepositoryFormat.read(in);
+                
+            } catch (IOException e) {
+                System.err.println("Could not load repository: " + e.getMessage());
+                System.err.println("Leaving " + file.getAbsolutePath() + " untouched.");
+                return null;
+            }
+        } else if (legacyFile.exists()) {
+        	
+            try (InputStream in = new BufferedInputStream(new FileInputStream(legacyFile))) {
+                tree = RepositoryFormat.readLegacy(in);
+                
+            } catch (IOException e) {
+                System.err.println("Could not load repository: " + e.getMessage());
+                System.err.println("Leaving " + legacyFile.getAbsolutePath() + " untouched.");
+                return null;
+            }
+        }
+
+        File log = new File(LOG_FILE);
+        try {
+            long ignored = DeltaLog.replay(log, RepositoryFormat.checksum(file), tree);
+            if (ignored == DeltaLog.STALE) {
+                System.err.println("Ignoring " + LOG_FILE + ": it was written for another " + REPO_FILE
+                        + ", which already includes it or replaced it. The next save starts a new log.");
+            } else if (ignored > 0) {
+                System.err.println("Ignoring " + ignored + " bytes of an interrupted update at the end of " + LOG_FILE + ".");
+            }
+        } catch (IOException e) {
+            System.err.println("Could not load repository log: " + e.getMessage());
+            System.err.println("Leaving " + log.getAbsolutePath() + " untouched.");
+            return null;
+        }
+        return tree;
+    }
+
+    /**
+     * Saves the occurrences added by this run for future reuse. Normally only
+     * they are appended to repository.log; once the log has grown past half the
+     * size of repository.dat or holds 64 blocks, or while the base is still a
+     * legacy repository.ser, the whole tree is written to repository.dat
+     * instead and the log is removed.
+     *
+     * @param tree  the complete repository tree
+     * @param added the words and occurrences added by this run
+     * @return whether the repository was saved
+     */
+    static boolean saveRepository(BSTree<WordTracker> tree, BSTree<WordTracker> added) {
+    	
+        File log = new File(LOG_FILE);
+        File base = new File(REPO_FILE);
+        boolean legacy = !base.exists() && new File(LEGACY_REPO_FILE).exists();
+        try {
+            int checksum = RepositoryFormat.checksum(base);
+            if (legacy || log.length() >= Math.max(base.length() * COMPACT_RATIO, COMPACT_MIN_BYTES)
+                    || DeltaLog.blockCount(log, checksum) >= COMPACT_MAX_BLOCKS) {
+                return compactRepository(tree);
+            }
+            DeltaLog.append(log, checksum, added);
+            System.out.println("Changes appended to " + LOG_FILE + ".");
+            System.out.println("Absolute path: " + log.getAbsolutePath());
+            
+        } catch (IOException e) {
+            System.err.println("Could not save repository:");
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the whole tree to repository.dat and removes the update log,
+     * whose contents the tree already includes. The file is replaced
+     * atomically, and a log left behind by a crash before it is removed no
+     * longer matches the new file, so it is not applied twice.
+     *
+     * @param tree the complete repository tree
+     * @return whether the repository was saved
+     */
+    static boolean compactRepository(BSTree<WordTracker> tree) {
+    	
+        try {
+            RepositoryFormat.write(tree, new File(REPO_FILE).toPath());
+            System.out.println(REPO_FILE + " saved successfully.");
+            System.out.println("Absolute path: " + new File(REPO_FILE).getAbsolutePath());
+            
+        } catch (IOException e) {
+            System.err.println("Could not save repository:");
+            e.printStackTrace();
+            return false;
+        }
+        new File(LOG_FILE).delete();
+        return true;
+    }
+}
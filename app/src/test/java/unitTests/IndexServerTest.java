@@ -0,0 +1,186 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.IndexServer;
+import appDomain.WordTracker;
+import implementations.BSTree;
+
+/**
+ * Class Description: Tests for the commands answered by the index server.
+ */
+public class IndexServerTest
+{
+	// Attributes
+	private File input;
+	private String name;
+	private IndexServer server;
+
+	/**
+	 * Creates an input file and a server with an empty repository before each
+	 * test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		input = File.createTempFile( "server", ".txt" );
+		Files.write( input.toPath(), Arrays.asList( "The cat sat", "on the mat cat" ), StandardCharsets.UTF_8 );
+		name = input.getPath();
+		server = new IndexServer( new BSTree<WordTracker>( true ) );
+	}
+
+	/**
+	 * Deletes the input file after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		input.delete();
+	}
+
+	/**
+	 * Test method for {@link appDomain.IndexServer#session(java.io.Reader, java.io.Writer)}
+	 * to index a file and answer queries from the words it added.
+	 */
+	@Test
+	public void testSession_IndexAndQuery() throws IOException
+	{
+		String out = session( name + " -pf\n-wCAT -pl\n-sm -po\n-wdog -pl\n-r" + name + " -pf\nquit\n-wcat -pl\n" );
+		assertEquals( "Failed to answer the commands.",
+				"Key : ===cat===  found in file: " + name + "\n"
+						+ "Key : ===mat===  found in file: " + name + "\n"
+						+ "Key : ===on===  found in file: " + name + "\n"
+						+ "Key : ===sat===  found in file: " + name + "\n"
+						+ "Key : ===the===  found in file: " + name + "\n"
+						+ ".\n"
+						+ "Key : ===cat===  found in file: " + name + " on line(s): [1, 2]\n"
+						+ ".\n"
+						+ "Key : ===mat===  found in file: " + name + " on line(s): [2] (1 occurrence)\n"
+						+ ".\n"
+						+ ".\n"
+						+ "Key : ===cat===  found in file: " + name + "\n"
+						+ "Key : ===mat===  found in file: " + name + "\n"
+						+ "Key : ===on===  found in file: " + name + "\n"
+						+ "Key : ===sat===  found in file: " + name + "\n"
+						+ "Key : ===the===  found in file: " + name + "\n"
+						+ ".\n"
+						+ ".\n",
+				out );
+	}
+
+	/**
+	 * Test method for {@link appDomain.IndexServer#session(java.io.Reader, java.io.Writer)}
+	 * to add the occurrences of a file indexed again after the earlier ones,
+	 * in a new session.
+	 */
+	@Test
+	public void testSession_IndexTwice() throws IOException
+	{
+		session( name + " -pf\n" );
+		String out = session( name + " -pf\n-wcat -po\n" );
+		assertTrue( "Failed to add the occurrences again.",
+				out.endsWith( "Key : ===cat===  found in file: " + name + " on line(s): [1, 2, 1, 2] (4 occurrences)\n.\n" ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.IndexServer#session(java.io.Reader, java.io.Writer)}
+	 * to answer a command it cannot run with its usage and carry on.
+	 */
+	@Test
+	public void testSession_Invalid() throws IOException
+	{
+		String out = session( "bogus\n\n-wcat\n-wcat -pf\n" );
+		String[] lines = out.split( "\n" );
+		assertEquals( "Failed to answer each command.", 5, lines.length );
+		assertTrue( "Failed to show the usage.", lines[0].startsWith( "Usage: " ) );
+		assertEquals( "Failed to end the response.", ".", lines[1] );
+		assertTrue( "Failed to show the usage.", lines[2].startsWith( "Usage: " ) );
+		assertEquals( "Failed to answer from an empty repository.", ".", lines[4] );
+	}
+
+	/**
+	 * Test method for {@link appDomain.IndexServer#session(java.io.Reader, java.io.Writer, java.lang.String)}
+	 * to end a remote session that does not send the token first.
+	 */
+	@Test
+	public void testSession_WrongToken() throws IOException
+	{
+		StringWriter out = new StringWriter();
+		server.session( new StringReader( "guess\n-wcat -pf\n" ), out, "secret" );
+		assertEquals( "Failed to refuse the session.", "Not authorized.\n.\n", out.toString() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.IndexServer#session(java.io.Reader, java.io.Writer, java.lang.String)}
+	 * to answer a remote session after the token, but not write an output file
+	 * for it.
+	 */
+	@Test
+	public void testSession_RemoteOutputFile() throws IOException
+	{
+		File output = new File( input.getPath() + ".out" );
+		StringWriter out = new StringWriter();
+		server.session( new StringReader( "secret\n" + name + " -pf -f" + output.getPath() + "\n" ), out, "secret" );
+		assertEquals( "Failed to refuse the output file.",
+				"Output files can only be written from standard input.\n.\n", out.toString() );
+		assertFalse( "Failed to leave the output file unwritten.", output.exists() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.IndexServer#session(java.io.Reader, java.io.Writer)}
+	 * to report a file of the loaded repository from its own words only, to
+	 * keep its words apart from a file indexed later, and to list the words of
+	 * a file indexed again once.
+	 */
+	@Test
+	public void testSession_FileQuery() throws IOException
+	{
+		BSTree<WordTracker> repository = new BSTree<>( true );
+		repository.add( new WordTracker( "apple", "a.txt", 1 ) );
+		repository.add( new WordTracker( "cat", "b.txt", 2 ) );
+		WordTracker mat = new WordTracker( "mat", "a.txt", 3 );
+		mat.addOccurrence( "b.txt", 4 );
+		repository.add( mat );
+		server = new IndexServer( repository );
+
+		String apple = "Key : ===apple===  found in file: a.txt\n"
+				+ "Key : ===mat===  found in file: a.txt\n"
+				+ ".\n";
+		String indexed = "Key : ===cat===  found in file: " + name + "\n"
+				+ "Key : ===mat===  found in file: " + name + "\n"
+				+ "Key : ===on===  found in file: " + name + "\n"
+				+ "Key : ===sat===  found in file: " + name + "\n"
+				+ "Key : ===the===  found in file: " + name + "\n"
+				+ ".\n";
+		String out = session( "-ra.txt -pf\n" + name + " -pf\n-ra.txt -pf\n-r" + name + " -pf\n-rc.txt -pf\n"
+				+ name + " -pf\n-r" + name + " -pf\n" );
+		assertEquals( "Failed to report each file from its own words.",
+				apple + indexed + apple + indexed + ".\n" + indexed + indexed, out );
+	}
+
+	/**
+	 * Runs one session of commands and returns its responses.
+	 */
+	private String session( String commands ) throws IOException
+	{
+		StringWriter out = new StringWriter();
+		server.session( new StringReader( commands ), out );
+		return out.toString();
+	}
+}
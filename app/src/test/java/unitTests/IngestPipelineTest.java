@@ -0,0 +1,238 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import appDomain.IngestPipeline;
+import appDomain.LineList;
+import appDomain.RunStats;
+import appDomain.ScannerTokenizer;
+import appDomain.Tokenizer;
+import appDomain.WordTracker;
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Checks that IngestPipeline indexes files into exactly
+ * the words and line numbers of tokenizing them whole, however they are cut
+ * into chunks.
+ */
+public class IngestPipelineTest
+{
+	// Attributes
+	private List<File> files = new ArrayList<>();
+
+	/**
+	 * Deletes the input files after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		for( File file : files )
+		{
+			file.delete();
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.IngestPipeline#index(List, RunStats)}
+	 * to keep line numbers exact across chunk boundaries, with every kind of
+	 * line end, lines longer than a chunk and a last line without an end.
+	 */
+	@Test
+	public void testIndex_ChunkBoundaries() throws IOException
+	{
+		List<String> inputs = Arrays.asList(
+				file( "The cat sat\non the mat\r\nthe cat\rran off\r\n\r\n\nand sat again" ),
+				file( "" ),
+				file( "a long line that is longer than a chunk and then some more\nshort\n" ),
+				file( "it's the end\n" ) );
+		for( int chunkSize : new int[] { 1, 7, 16, 1024 } )
+		{
+			for( int tokenizers : new int[] { 1, 3 } )
+			{
+				BSTree<WordTracker> tree = new IngestPipeline( tokenizers, chunkSize, 2 ).index( inputs, RunStats.OFF );
+				assertEquals( "Failed to match whole-file tokenizing with chunks of " + chunkSize + ".",
+						expected( inputs ), actual( tree ) );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.IngestPipeline#index(List, RunStats)}
+	 * on the sample text in res/test3.txt, cut into small chunks.
+	 */
+	@Test
+	public void testIndex_SampleFile() throws IOException
+	{
+		List<String> inputs = Arrays.asList( "res/test3.txt", "res/test3.txt" );
+		BSTree<WordTracker> tree = new IngestPipeline( 2, 100, 3 ).index( inputs, RunStats.OFF );
+		assertEquals( "Failed to match whole-file tokenizing.", expected( inputs ), actual( tree ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.IngestPipeline#index(List, RunStats)}
+	 * to report a file that cannot be read.
+	 */
+	@Test
+	public void testIndex_MissingFile() throws IOException
+	{
+		List<String> inputs = Arrays.asList( file( "one\n" ), "no/such/file.txt" );
+		try
+		{
+			new IngestPipeline( 1, 4, 1 ).index( inputs, RunStats.OFF );
+			fail( "Failed to throw FileNotFoundException." );
+		}
+		catch( FileNotFoundException e )
+		{
+			assertTrue( "Failed to name the file.", e.getMessage().contains( "no/such/file.txt" ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.IngestPipeline#index(List, RunStats)}
+	 * to pass on an error in the reader instead of waiting for its chunks
+	 * forever.
+	 */
+	@Test( timeout = 10000 )
+	public void testIndex_ReaderError() throws IOException
+	{
+		List<String> inputs = Arrays.asList( file( "one\n" ) );
+		try
+		{
+			// A buffer larger than the VM allows fails without allocating
+			new IngestPipeline( 1, Integer.MAX_VALUE, 1 ).index( inputs, RunStats.OFF );
+			fail( "Failed to throw OutOfMemoryError." );
+		}
+		catch( OutOfMemoryError e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.IngestPipeline#index(List, RunStats)}
+	 * to stop reading while one tokenizer is stalled, rather than piling up
+	 * the chunks after it at the indexer, and to index everything once the
+	 * tokenizer carries on.
+	 */
+	@Test( timeout = 20000 )
+	@SuppressWarnings( "unchecked" )
+	public void testIndex_StalledTokenizer() throws Exception
+	{
+		StringBuilder text = new StringBuilder();
+		for( int i = 0; i < 200; i++ )
+		{
+			text.append( "line " ).append( i ).append( '\n' );
+		}
+		List<String> inputs = Arrays.asList( file( text.toString() ) );
+		AtomicInteger tokenized = new AtomicInteger();
+		CountDownLatch stall = new CountDownLatch( 1 );
+		IngestPipeline pipeline = new IngestPipeline( 2, 8, 1, () -> new ScannerTokenizer()
+		{
+			@Override
+			public int tokenize( char[] chars, int length, int firstLine, Tokenizer.TokenSink sink )
+			{
+				if( tokenized.getAndIncrement() == 0 )
+				{
+					try
+					{
+						stall.await();
+					}
+					catch( InterruptedException e )
+					{
+						Thread.currentThread().interrupt();
+					}
+				}
+				return super.tokenize( chars, length, firstLine, sink );
+			}
+		} );
+
+		BSTree<WordTracker>[] tree = new BSTree[1];
+		Exception[] failure = new Exception[1];
+		Thread indexer = new Thread( () -> {
+			try
+			{
+				tree[0] = pipeline.index( inputs, RunStats.OFF );
+			}
+			catch( IOException e )
+			{
+				failure[0] = e;
+			}
+		} );
+		indexer.start();
+		Thread.sleep( 500 );
+		// The stalled chunk may follow one that was indexed
+		assertTrue( "Failed to stop reading behind a stalled tokenizer.",
+				tokenized.get() <= pipeline.chunksInFlight() + 1 );
+		stall.countDown();
+		indexer.join();
+
+		assertNull( "Failed to index after the stall.", failure[0] );
+		assertEquals( "Failed to match whole-file tokenizing.", expected( inputs ), actual( tree[0] ) );
+	}
+
+	private String file( String text ) throws IOException
+	{
+		File file = File.createTempFile( "pipeline", ".txt" );
+		files.add( file );
+		Files.write( file.toPath(), text.getBytes( Charset.defaultCharset() ) );
+		return file.getPath();
+	}
+
+	/**
+	 * Tokenizes each file whole, recording "lines" per word and file.
+	 */
+	private static Map<String, Map<String, String>> expected( List<String> inputs ) throws IOException
+	{
+		Map<String, Map<String, List<Integer>>> lines = new TreeMap<>();
+		for( String input : inputs )
+		{
+			try( Reader in = new FileReader( input ) )
+			{
+				new ScannerTokenizer().tokenize( in, ( word, line ) -> lines
+						.computeIfAbsent( word.toString(), w -> new TreeMap<>() )
+						.computeIfAbsent( input, f -> new ArrayList<>() ).add( line ) );
+			}
+		}
+		Map<String, Map<String, String>> result = new TreeMap<>();
+		lines.forEach( ( word, files ) -> files
+				.forEach( ( file, list ) -> result.computeIfAbsent( word, w -> new TreeMap<>() ).put( file, list.toString() ) ) );
+		return result;
+	}
+
+	private static Map<String, Map<String, String>> actual( BSTree<WordTracker> tree )
+	{
+		Map<String, Map<String, String>> result = new TreeMap<>();
+		Iterator<WordTracker> it = tree.inorderIterator();
+		while( it.hasNext() )
+		{
+			WordTracker word = it.next();
+			for( Map.Entry<String, LineList> entry : word.getFileLines().entrySet() )
+			{
+				result.computeIfAbsent( word.getWord(), w -> new TreeMap<>() ).put( entry.getKey(),
+						Arrays.toString( entry.getValue().toArray() ) );
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,93 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.LineList;
+
+/**
+ * Class Description: Tests for the packed line number list used by
+ * WordTracker.
+ */
+public class LineListTest
+{
+	// Attributes
+	private LineList lines;
+
+	/**
+	 * Initializes a new, empty LineList before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		lines = new LineList();
+	}
+
+	/**
+	 * Test method for {@link appDomain.LineList#add(int)} to grow past the initial
+	 * capacity and keep insertion order.
+	 */
+	@Test
+	public void testAdd_Many()
+	{
+		for( int i = 1; i <= 100; i++ )
+		{
+			lines.add( i * 3 );
+		}
+		assertEquals( "Failed to update size.", 100, lines.size() );
+		assertEquals( "Failed to keep the first line.", 3, lines.toArray()[0] );
+		assertEquals( "Failed to keep the last line.", 300, lines.toArray()[99] );
+	}
+
+	/**
+	 * Test method for {@link appDomain.LineList#seal()} to keep every line number,
+	 * including repeats and lines that go backwards.
+	 */
+	@Test
+	public void testSeal_RoundTrip()
+	{
+		int[] expected = { 1, 2, 2, 900, 1, 2, 70000, 3 };
+		for( int line : expected )
+		{
+			lines.add( line );
+		}
+		lines.seal();
+		assertTrue( "Failed to seal the list.", lines.isSealed() );
+		assertArrayEquals( expected, lines.toArray() );
+		assertEquals( "Failed to update size.", expected.length, lines.size() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.LineList#add(int)} to append to a sealed
+	 * list.
+	 */
+	@Test
+	public void testAdd_AfterSeal()
+	{
+		lines.add( 4 );
+		lines.add( 7 );
+		lines.seal();
+		lines.add( 2 );
+		assertFalse( "Failed to unseal the list.", lines.isSealed() );
+		assertArrayEquals( new int[] { 4, 7, 2 }, lines.toArray() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.LineList#toString()} to print like a
+	 * java.util.List, sealed or not.
+	 */
+	@Test
+	public void testToString()
+	{
+		assertEquals( "Failed to print an empty list.", "[]", lines.toString() );
+		lines.add( 1 );
+		lines.add( 12 );
+		assertEquals( "Failed to print the list.", "[1, 12]", lines.toString() );
+		lines.seal();
+		assertEquals( "Failed to print the sealed list.", "[1, 12]", lines.toString() );
+	}
+}
@@ -0,0 +1,89 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.ReportWriter;
+import appDomain.WordTracker;
+
+/**
+ * Class Description: Tests for the streaming report writer used by
+ * WordTracker.
+ */
+public class ReportWriterTest
+{
+	// Attributes
+	private StringWriter out;
+	private ReportWriter report;
+	private WordTracker word;
+
+	/**
+	 * Creates a report writer and a word seen three times in one file before
+	 * each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		out = new StringWriter();
+		report = new ReportWriter( out );
+		word = new WordTracker( "hello", "a.txt", 1 );
+		word.addOccurrence( "a.txt", 12 );
+		word.addOccurrence( "a.txt", 305 );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ReportWriter#write(appDomain.WordTracker, String, String)}
+	 * to format every display flag.
+	 */
+	@Test
+	public void testWrite_Flags() throws IOException
+	{
+		report.write( word, "-pf", "a.txt" );
+		report.write( word, "-pl", "a.txt" );
+		report.write( word, "-po", "a.txt" );
+		report.close();
+		assertEquals( "Failed to format the entries.",
+				"Key : ===hello===  found in file: a.txt\n"
+						+ "Key : ===hello===  found in file: a.txt on line(s): [1, 12, 305]\n"
+						+ "Key : ===hello===  found in file: a.txt on line(s): [1, 12, 305] (3 occurrences)\n",
+				out.toString() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ReportWriter#write(appDomain.WordTracker, String, String)}
+	 * to skip a word that does not appear in the file.
+	 */
+	@Test
+	public void testWrite_OtherFile() throws IOException
+	{
+		assertFalse( "Failed to skip the word.", report.write( word, "-pl", "b.txt" ) );
+		report.close();
+		assertEquals( "Failed to write nothing.", "", out.toString() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ReportWriter#write(appDomain.WordTracker, String, String)}
+	 * to write an entry longer than its buffer.
+	 */
+	@Test
+	public void testWrite_LongEntry() throws IOException
+	{
+		StringBuilder expected = new StringBuilder( "[1, 12, 305" );
+		for( int i = 1000; i < 5000; i++ )
+		{
+			word.addOccurrence( "a.txt", i );
+			expected.append( ", " ).append( i );
+		}
+		report.write( word, "-pl", "a.txt" );
+		report.close();
+		assertEquals( "Failed to write the whole entry.",
+				"Key : ===hello===  found in file: a.txt on line(s): " + expected + "]\n", out.toString() );
+	}
+}
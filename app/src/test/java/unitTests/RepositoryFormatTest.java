@@ -0,0 +1,430 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.DeltaLog;
+import appDomain.MappedRepository;
+import appDomain.RepositoryFormat;
+import appDomain.WordTracker;
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Round-trip tests for the binary repository format and
+ * its memory-mapped reader.
+ */
+public class RepositoryFormatTest
+{
+	// Attributes
+	private BSTree<WordTracker> tree;
+
+	/**
+	 * Builds a small repository spread over two files before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new BSTree<WordTracker>();
+		String[] words = { "kitty", "hello", "nice", "caf\u00e9", "you", "hello" };
+		for( int i = 0; i < words.length; i++ )
+		{
+			tree.computeIfAbsent( words[i], WordTracker.WORD_ORDER, w -> new WordTracker( w.toString() ) )
+					.addOccurrence( i % 2 == 0 ? "a.txt" : "dir/b.txt", i + 1 );
+		}
+	}
+
+	private static BSTree<WordTracker> roundTrip( BSTree<WordTracker> tree ) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RepositoryFormat.write( tree, out );
+		return RepositoryFormat.read( new ByteArrayInputStream( out.toByteArray() ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFormat#read(java.io.InputStream)}
+	 * to restore every word, file and line number in order.
+	 */
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		BSTree<WordTracker> loaded = roundTrip( tree );
+		assertEquals( "Failed to restore every word.", tree.size(), loaded.size() );
+		assertTrue( "Failed to return a self-balancing tree.", loaded.isBalanced() );
+
+		Iterator<WordTracker> expected = tree.inorderIterator();
+		Iterator<WordTracker> actual = loaded.inorderIterator();
+		while( expected.hasNext() )
+		{
+			WordTracker a = expected.next();
+			WordTracker b = actual.next();
+			assertEquals( "Failed to restore the word.", a.getWord(), b.getWord() );
+			assertEquals( "Failed to restore the occurrences.", a.getFileLines().toString(),
+					b.getFileLines().toString() );
+		}
+		assertEquals( "[2, 6]", WordTracker.searchWord( loaded, "hello" ).getFileLines().get( "dir/b.txt" ).toString() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFormat#read(java.io.InputStream)}
+	 * to restore an empty repository.
+	 */
+	@Test
+	public void testRoundTrip_Empty() throws IOException
+	{
+		assertTrue( "Failed to restore an empty repository.", roundTrip( new BSTree<WordTracker>() ).isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFormat#read(java.io.InputStream)}
+	 * to reject data that is not a repository.
+	 */
+	@Test
+	public void testRead_NotARepository()
+	{
+		try
+		{
+			RepositoryFormat.read( new ByteArrayInputStream( new byte[] { (byte) 0xAC, (byte) 0xED, 0, 5, 1 } ) );
+			fail( "Failed to throw IOException." );
+		}
+		catch( IOException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFormat#read(java.io.InputStream)}
+	 * to reject counts and lengths that are negative or larger than the data
+	 * with an IOException rather than an allocation failure.
+	 */
+	@Test
+	public void testRead_CorruptLength()
+	{
+		byte[] largest = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 };
+		byte[] negative = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+		byte[][] corrupt = {
+				{ 'W', 'T', 'R', 'K', 4, largest[0], largest[1], largest[2], largest[3], largest[4] },
+				{ 'W', 'T', 'R', 'K', 4, negative[0], negative[1], negative[2], negative[3], negative[4] },
+				{ 'W', 'T', 'R', 'K', 4, 0, 1, largest[0], largest[1], largest[2], largest[3], largest[4], 'a' },
+				{ 'W', 'T', 'R', 'K', 4, 1, 1, 'a', 1, 1, 'w', 1, 5, 1, 1 } };
+		for( byte[] bytes : corrupt )
+		{
+			try
+			{
+				RepositoryFormat.read( new ByteArrayInputStream( bytes ) );
+				fail( "Failed to throw IOException." );
+			}
+			catch( IOException e )
+			{
+				assertTrue( true );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFormat#read(java.io.InputStream)}
+	 * to reject a repository with a damaged record.
+	 */
+	@Test
+	public void testRead_Corrupt() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RepositoryFormat.write( tree, out );
+		byte[] bytes = out.toByteArray();
+		bytes[bytes.length / 2] ^= 0x10;
+		try
+		{
+			RepositoryFormat.read( new ByteArrayInputStream( bytes ) );
+			fail( "Failed to throw IOException." );
+		}
+		catch( IOException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFormat#readLegacy(java.io.InputStream)}
+	 * to rebalance a serialized repository that was built without balancing.
+	 */
+	@Test
+	public void testReadLegacy_Rebalances() throws IOException
+	{
+		BSTree<WordTracker> legacy = new BSTree<>();
+		for( int i = 0; i < 100; i++ )
+		{
+			WordTracker word = new WordTracker( String.format( "word%03d", i ) );
+			word.addOccurrence( "a.txt", i + 1 );
+			legacy.add( word );
+		}
+		assertEquals( "Failed to build a degenerate tree.", 100, legacy.getHeight() );
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try( ObjectOutputStream objects = new ObjectOutputStream( out ) )
+		{
+			objects.writeObject( legacy );
+		}
+
+		BSTree<WordTracker> loaded = RepositoryFormat.readLegacy( new ByteArrayInputStream( out.toByteArray() ) );
+		assertEquals( "Failed to keep every word.", 100, loaded.size() );
+		assertEquals( "Failed to rebalance the tree.", 7, loaded.getHeight() );
+		Iterator<WordTracker> it = loaded.inorderIterator();
+		for( int i = 0; i < 100; i++ )
+		{
+			assertEquals( "Failed to keep the words in order.", String.format( "word%03d", i ), it.next().getWord() );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.RepositoryFormat#write(implementations.BSTree, java.nio.file.Path)}
+	 * to replace a repository file and record its checksum.
+	 */
+	@Test
+	public void testWrite_File() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".dat" );
+		file.deleteOnExit();
+		RepositoryFormat.write( new BSTree<WordTracker>(), file.toPath() );
+		int empty = RepositoryFormat.checksum( file );
+		RepositoryFormat.write( tree, file.toPath() );
+
+		assertTrue( "Failed to record a new checksum.", empty != RepositoryFormat.checksum( file ) );
+		assertFalse( "Failed to remove the temporary file.", new File( file.getPath() + ".tmp" ).exists() );
+		try( MappedRepository repository = new MappedRepository( file.toPath() ) )
+		{
+			assertEquals( "Failed to replace the repository.", 5, repository.size() );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedRepository#get(CharSequence)} and
+	 * {@link appDomain.MappedRepository#range(CharSequence, CharSequence)} to read
+	 * a saved repository in place.
+	 */
+	@Test
+	public void testMappedRepository() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".dat" );
+		file.deleteOnExit();
+		try( OutputStream out = new FileOutputStream( file ) )
+		{
+			RepositoryFormat.write( tree, out );
+		}
+
+		try( MappedRepository repository = new MappedRepository( file.toPath() ) )
+		{
+			assertEquals( "Failed to read the word count.", 5, repository.size() );
+			assertEquals( "Failed to find the first word.", 0, repository.indexOf( "caf\u00e9" ) );
+			assertEquals( "Failed to report the insertion point.", -2, repository.indexOf( "dog" ) );
+			assertNull( "Failed to return null for a missing word.", repository.get( "zebra" ) );
+			assertEquals( "Failed to decode the occurrences.", "[2, 6]",
+					repository.get( "hello" ).getFileLines().get( "dir/b.txt" ).toString() );
+
+			Iterator<WordTracker> it = repository.range( "hello", "nice" );
+			assertEquals( "hello", it.next().getWord() );
+			assertEquals( "kitty", it.next().getWord() );
+			assertFalse( "Failed to stop before the end of the range.", it.hasNext() );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedRepository#fileWords(String)} to
+	 * return just the words of one file, in order.
+	 */
+	@Test
+	public void testMappedRepository_FileWords() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".dat" );
+		file.deleteOnExit();
+		RepositoryFormat.write( tree, file.toPath() );
+
+		try( MappedRepository repository = new MappedRepository( file.toPath() ) )
+		{
+			Iterator<WordTracker> it = repository.fileWords( "dir/b.txt" );
+			assertEquals( "caf\u00e9", it.next().getWord() );
+			assertEquals( "hello", it.next().getWord() );
+			assertFalse( "Failed to skip the words of other files.", it.hasNext() );
+			assertFalse( "Failed to return nothing for an unknown file.", repository.fileWords( "c.txt" ).hasNext() );
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.MappedRepository#load(int)} and
+	 * {@link appDomain.MappedRepository#fileWords(String)} to report a
+	 * damaged repository with an IOException, whichever byte is damaged.
+	 */
+	@Test
+	public void testMappedRepository_Corrupt() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".dat" );
+		file.deleteOnExit();
+		RepositoryFormat.write( tree, file.toPath() );
+		byte[] original = Files.readAllBytes( file.toPath() );
+		byte[] damage = { (byte) 0xFF, (byte) 0x80, 0x7F, 0 };
+
+		for( int i = 0; i < original.length; i++ )
+		{
+			for( byte value : damage )
+			{
+				byte[] bytes = original.clone();
+				bytes[i] = value;
+				Files.write( file.toPath(), bytes );
+				try( MappedRepository repository = new MappedRepository( file.toPath() ) )
+				{
+					for( int word = 0; word < repository.size(); word++ )
+					{
+						// Decodes the line numbers too
+						repository.load( word ).getFileLines().values().toString();
+					}
+					for( String name : repository.fileNames() )
+					{
+						Iterator<WordTracker> it = repository.fileWords( name );
+						while( it.hasNext() )
+						{
+							it.next();
+						}
+					}
+				}
+				catch( IOException | UncheckedIOException e )
+				{
+					assertTrue( true );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link appDomain.DeltaLog#replay(java.io.File, implementations.BSTree)}
+	 * to apply every appended block in order.
+	 */
+	@Test
+	public void testDeltaLog() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".log" );
+		file.delete();
+		file.deleteOnExit();
+		DeltaLog.append( file, 0, tree );
+
+		BSTree<WordTracker> update = new BSTree<WordTracker>();
+		update.computeIfAbsent( "hello", WordTracker.WORD_ORDER, w -> new WordTracker( w.toString() ) )
+				.addOccurrence( "dir/b.txt", 9 );
+		update.computeIfAbsent( "zebra", WordTracker.WORD_ORDER, w -> new WordTracker( w.toString() ) )
+				.addOccurrence( "c.txt", 1 );
+		DeltaLog.append( file, 0, update );
+
+		BSTree<WordTracker> loaded = DeltaLog.read( file, 0 );
+		assertEquals( "Failed to add the new word.", 6, loaded.size() );
+		assertEquals( "Failed to append the new occurrences in order.", "[2, 6, 9]",
+				WordTracker.searchWord( loaded, "hello" ).getFileLines().get( "dir/b.txt" ).toString() );
+		assertEquals( "Failed to keep the first block.", "[1]",
+				WordTracker.searchWord( loaded, "kitty" ).getFileLines().get( "a.txt" ).toString() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.DeltaLog#read(java.io.File)} to treat a
+	 * missing log as no updates.
+	 */
+	@Test
+	public void testDeltaLog_Missing() throws IOException
+	{
+		assertEquals( "Failed to read a missing log as empty.", 0,
+				DeltaLog.read( new File( "no-such-repository.log" ), 0 ).size() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.DeltaLog#replay(java.io.File, int, implementations.BSTree)}
+	 * to skip a block cut short by an interrupted append, and for
+	 * {@link appDomain.DeltaLog#append(java.io.File, int, implementations.BSTree)} to
+	 * drop it.
+	 */
+	@Test
+	public void testDeltaLog_InterruptedAppend() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".log" );
+		file.delete();
+		file.deleteOnExit();
+		DeltaLog.append( file, 0, tree );
+		long complete = file.length();
+		DeltaLog.append( file, 0, tree );
+		try( RandomAccessFile log = new RandomAccessFile( file, "rw" ) )
+		{
+			log.setLength( complete + 7 );
+		}
+
+		BSTree<WordTracker> loaded = new BSTree<WordTracker>();
+		assertEquals( "Failed to report the incomplete block.", 7, DeltaLog.replay( file, 0, loaded ) );
+		assertEquals( "Failed to apply the complete block.", "[1]",
+				WordTracker.searchWord( loaded, "kitty" ).getFileLines().get( "a.txt" ).toString() );
+
+		DeltaLog.append( file, 0, tree );
+		assertEquals( "Failed to drop the incomplete block.", 2 * complete - 9, file.length() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.DeltaLog#replay(java.io.File, int, implementations.BSTree)}
+	 * to skip a log written against another base repository.
+	 */
+	@Test
+	public void testDeltaLog_OtherBase() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".log" );
+		file.delete();
+		file.deleteOnExit();
+		DeltaLog.append( file, 42, tree );
+
+		assertEquals( "Failed to skip a log of another base.", 0, DeltaLog.read( file, 7 ).size() );
+		assertEquals( "Failed to report a log of another base.", DeltaLog.STALE,
+				DeltaLog.replay( file, 7, new BSTree<WordTracker>() ) );
+		DeltaLog.append( file, 7, new BSTree<WordTracker>() );
+		assertEquals( "Failed to skip an empty block.", DeltaLog.STALE, DeltaLog.replay( file, 7, new BSTree<WordTracker>() ) );
+		DeltaLog.append( file, 7, tree );
+		assertEquals( "Failed to restart the log for the new base.", 5, DeltaLog.read( file, 7 ).size() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.DeltaLog#map(java.io.RandomAccessFile, int)}
+	 * to look words up in each block in place, and for
+	 * {@link appDomain.DeltaLog#blockCount(java.io.File, int)} to count them.
+	 */
+	@Test
+	public void testDeltaLog_Map() throws IOException
+	{
+		File file = File.createTempFile( "repository", ".log" );
+		file.delete();
+		file.deleteOnExit();
+		DeltaLog.append( file, 0, tree );
+		BSTree<WordTracker> update = new BSTree<WordTracker>();
+		update.computeIfAbsent( "hello", WordTracker.WORD_ORDER, w -> new WordTracker( w.toString() ) )
+				.addOccurrence( "dir/b.txt", 9 );
+		DeltaLog.append( file, 0, update );
+
+		assertEquals( "Failed to count the blocks.", 2, DeltaLog.blockCount( file, 0 ) );
+		try( RandomAccessFile log = new RandomAccessFile( file, "r" ) )
+		{
+			List<MappedRepository> blocks = DeltaLog.map( log, 0 );
+			assertEquals( "Failed to map every block.", 2, blocks.size() );
+			assertEquals( "Failed to find a word of the first block.", "[1]",
+					blocks.get( 0 ).get( "kitty" ).getFileLines().get( "a.txt" ).toString() );
+			assertEquals( "Failed to find a word of the second block.", "[9]",
+					blocks.get( 1 ).get( "hello" ).getFileLines().get( "dir/b.txt" ).toString() );
+			assertNull( "Failed to miss a word not in the block.", blocks.get( 1 ).get( "kitty" ) );
+			assertEquals( "Failed to skip a log of another base.", 0, DeltaLog.map( log, 7 ).size() );
+		}
+	}
+}
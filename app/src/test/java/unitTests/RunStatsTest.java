@@ -0,0 +1,99 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import appDomain.RunStats;
+import utilities.KeyComparator;
+
+/**
+ * Class Description: Tests for the measurements taken by --stats.
+ */
+public class RunStatsTest
+{
+	/**
+	 * Test method for {@link appDomain.RunStats#count(long, long, long, long)}
+	 * and {@link appDomain.RunStats#counting(KeyComparator)} to count words,
+	 * lines, bytes and comparisons.
+	 */
+	@Test
+	public void testCounting()
+	{
+		RunStats stats = new RunStats( true );
+		stats.count( 60, 1, 2, 2 );
+		stats.count( 40, 3, 1, 1 );
+		KeyComparator<String, String> order = stats.counting( ( String key, String element ) -> key.compareTo( element ) );
+		order.compare( "a", "b" );
+		order.compare( "b", "b" );
+		stats.set( "tree_height", 7 );
+
+		String json = stats.toJson();
+		assertTrue( "Failed to count bytes.", json.contains( "\"bytes_read\": 100" ) );
+		assertTrue( "Failed to count lines up to the last word.", json.contains( "\"lines_read\": 4" ) );
+		assertTrue( "Failed to count words.", json.contains( "\"tokens\": 3" ) );
+		assertTrue( "Failed to count comparisons.", json.contains( "\"comparisons_per_insert\": 0.667" ) );
+		assertTrue( "Failed to record a value.", json.contains( "\"tree_height\": 7" ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RunStats#measuring(Runnable)} to count
+	 * what a thread allocates in the phase, after the thread has ended.
+	 */
+	@Test
+	public void testMeasuring() throws InterruptedException
+	{
+		RunStats stats = new RunStats( true );
+		stats.phase( "index" );
+		Thread thread = new Thread( stats.measuring( () -> {
+			byte[][] blocks = new byte[64][];
+			for( int i = 0; i < blocks.length; i++ )
+			{
+				blocks[i] = new byte[64 * 1024];
+			}
+		} ) );
+		thread.start();
+		thread.join();
+		stats.finish();
+
+		String json = stats.toJson();
+		String allocated = json.substring( json.indexOf( "\"allocated_bytes\": " ) + 19 );
+		assertTrue( "Failed to count the ended thread's allocations.",
+				Long.parseLong( allocated.substring( 0, allocated.indexOf( '}' ) ).trim() ) >= 4 * 1024 * 1024 );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RunStats#toPrometheus()} to label the
+	 * time of each phase.
+	 */
+	@Test
+	public void testToPrometheus()
+	{
+		RunStats stats = new RunStats( true );
+		stats.phase( "load" );
+		stats.phase( "save" );
+		stats.set( "words", 12 );
+		stats.finish();
+
+		String text = stats.toPrometheus();
+		assertTrue( "Failed to write the load phase.", text.contains( "wordtracker_phase_seconds{phase=\"load\"} " ) );
+		assertTrue( "Failed to write the save phase.", text.contains( "wordtracker_phase_seconds{phase=\"save\"} " ) );
+		assertTrue( "Failed to write a value.", text.contains( "# TYPE wordtracker_words gauge\nwordtracker_words 12\n" ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.RunStats#OFF} to record nothing and hand
+	 * back what it is given.
+	 */
+	@Test
+	public void testOff()
+	{
+		Runnable task = () -> {
+		};
+		assertSame( "Failed to return the task itself.", task, RunStats.OFF.measuring( task ) );
+		RunStats.OFF.phase( "load" );
+		RunStats.OFF.set( "words", 12 );
+		RunStats.OFF.finish();
+		assertEquals( "Failed to record nothing.", "{\n  \"phases\": {}\n}\n", RunStats.OFF.toJson() );
+	}
+}
@@ -0,0 +1,79 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import appDomain.StringTable;
+
+/**
+ * Class Description: Tests for the string table that gives file names their
+ * int ids.
+ */
+public class StringTableTest
+{
+	// Attributes
+	private StringTable table;
+
+	/**
+	 * Initializes a new, empty StringTable before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		table = new StringTable();
+	}
+
+	/**
+	 * Test method for {@link appDomain.StringTable#id(String)} to hand out dense
+	 * ids in order and return the same id for an equal string.
+	 */
+	@Test
+	public void testId()
+	{
+		for( int i = 0; i < 100; i++ )
+		{
+			assertEquals( "Failed to assign the next id.", i, table.id( "file" + i + ".txt" ) );
+		}
+		assertEquals( "Failed to reuse the id.", 42, table.id( new String( "file42.txt" ) ) );
+		assertEquals( "Failed to count the strings.", 100, table.size() );
+		assertEquals( "Failed to map the id back.", "file7.txt", table.string( 7 ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.StringTable#intern(String)} to return a
+	 * single shared copy.
+	 */
+	@Test
+	public void testIntern()
+	{
+		String first = table.intern( new String( "a.txt" ) );
+		assertSame( "Failed to share the copy.", first, table.intern( new String( "a.txt" ) ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.StringTable#find(Object)} to look up
+	 * without assigning ids.
+	 */
+	@Test
+	public void testFind()
+	{
+		assertEquals( "Failed to report a missing string.", -1, table.find( "a.txt" ) );
+		assertEquals( "Failed to leave the table empty.", 0, table.size() );
+		table.id( "a.txt" );
+		assertEquals( "Failed to find the string.", 0, table.find( "a.txt" ) );
+	}
+
+	/**
+	 * Test method for {@link appDomain.StringTable#id(String)} to throw
+	 * NullPointerException for null.
+	 */
+	@Test( expected = NullPointerException.class )
+	public void testId_Null()
+	{
+		table.id( null );
+	}
+}
@@ -0,0 +1,118 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import appDomain.RegexTokenizer;
+import appDomain.ScannerTokenizer;
+import appDomain.Tokenizer;
+
+/**
+ * Class Description: Checks that ScannerTokenizer splits text into exactly the
+ * same words and line numbers as the original RegexTokenizer.
+ */
+public class TokenizerTest
+{
+	/**
+	 * Runs a tokenizer and records each word as "line:word".
+	 */
+	private static List<String> tokens( Tokenizer tokenizer, Reader in ) throws IOException
+	{
+		List<String> result = new ArrayList<>();
+		tokenizer.tokenize( in, ( word, line ) -> result.add( line + ":" + word ) );
+		return result;
+	}
+
+	private static void assertSameTokens( String text ) throws IOException
+	{
+		List<String> expected = tokens( new RegexTokenizer(), new StringReader( text ) );
+		List<String> actual = tokens( new ScannerTokenizer(), new StringReader( text ) );
+		assertEquals( "Failed to match the reference tokenizer.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ScannerTokenizer#tokenize(Reader, Tokenizer.TokenSink)}
+	 * to fold case and drop apostrophes.
+	 */
+	@Test
+	public void testTokenize_Words() throws IOException
+	{
+		List<String> actual = tokens( new ScannerTokenizer( Locale.ROOT ),
+				new StringReader( "Hello kitty, it's nice to meet you!" ) );
+		assertEquals( "[1:hello, 1:kitty, 1:its, 1:nice, 1:to, 1:meet, 1:you]", actual.toString() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ScannerTokenizer#tokenize(Reader, Tokenizer.TokenSink)}
+	 * to count lines the way BufferedReader.readLine does.
+	 */
+	@Test
+	public void testTokenize_LineTerminators() throws IOException
+	{
+		assertSameTokens( "one\ntwo\r\nthree\rfour\n\nfive\r\r\nsix'\r'\nseven" );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ScannerTokenizer#tokenize(Reader, Tokenizer.TokenSink)}
+	 * to treat digits, punctuation and lone apostrophes like the reference.
+	 */
+	@Test
+	public void testTokenize_Separators() throws IOException
+	{
+		assertSameTokens( "''' a1b 'tis rock'n'roll -- x_y  Z'Z 42 \t tab" );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ScannerTokenizer#tokenize(Reader, Tokenizer.TokenSink)}
+	 * to fold non-ASCII characters like String.toLowerCase.
+	 */
+	@Test
+	public void testTokenize_NonAscii() throws IOException
+	{
+		assertSameTokens( "Caf\u00e9 NA\u00cfVE \u0130stanbul \u212aelvin stra\u00dfe \ud801\udc00x \u00c0b" );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ScannerTokenizer#tokenize(Reader, Tokenizer.TokenSink)}
+	 * to handle words and line breaks that straddle its read buffer.
+	 */
+	@Test
+	public void testTokenize_LongInput() throws IOException
+	{
+		StringBuilder text = new StringBuilder();
+		for( int i = 0; text.length() < 100000; i++ )
+		{
+			text.append( "Word" ).append( i % 7 == 0 ? "'s" : "" ).append( i % 5 == 0 ? "\r\n" : " " );
+		}
+		assertSameTokens( text.toString() );
+	}
+
+	/**
+	 * Test method for {@link appDomain.ScannerTokenizer#tokenize(Reader, Tokenizer.TokenSink)}
+	 * on the sample text in res/test3.txt.
+	 */
+	@Test
+	public void testTokenize_SampleFile() throws IOException
+	{
+		List<String> expected;
+		List<String> actual;
+		try( Reader in = new FileReader( "res/test3.txt" ) )
+		{
+			expected = tokens( new RegexTokenizer(), in );
+		}
+		try( Reader in = new FileReader( "res/test3.txt" ) )
+		{
+			actual = tokens( new ScannerTokenizer(), in );
+		}
+		assertEquals( "Failed to match the reference tokenizer.", expected, actual );
+	}
+}
@@ -0,0 +1,185 @@
+package benchmarks.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import implementations.BSTree;
+import implementations.BSTreeNode;
+import utilities.Iterator;
+
+/**
+ * Measures the BSTree operations on balanced trees, as WordTracker builds
+ * them, for each key distribution and size. Lookups report the time per
+ * call; add, the removals and the traversals report the time to add, remove
+ * or visit every element.
+ *
+ * The removals start from a tree of minimal height over the same elements,
+ * rebuilt before each call and not timed.
+ */
+@State( Scope.Benchmark )
+@Fork( value = 1, jvmArgsAppend = "-Xmx4g" )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+public class BSTreeBenchmark
+{
+	private static final int PROBES = 1 << 16;
+
+	@Param( { "1000", "100000", "1000000", "10000000" } )
+	public int size;
+
+	@Param( { "RANDOM", "ASCENDING", "ZIPF" } )
+	public KeyDistribution distribution;
+
+	private Integer[] keys;
+	private Integer[] probes;
+	private Integer[] sorted;
+	private BSTree<Integer> tree;
+	private int next;
+
+	@Setup( Level.Trial )
+	public void setUp()
+	{
+		Random random = new Random( 42 );
+		keys = box( distribution.keys( size, random ) );
+		probes = box( distribution.probes( size, PROBES, random ) );
+		tree = add();
+		sorted = new Integer[tree.size()];
+		Iterator<Integer> it = tree.inorderIterator();
+		for( int i = 0; i < sorted.length; i++ )
+		{
+			sorted[i] = it.next();
+		}
+	}
+
+	/**
+	 * A tree to empty, rebuilt before each call.
+	 */
+	@State( Scope.Thread )
+	public static class Drain
+	{
+		BSTree<Integer> tree;
+
+		@Setup( Level.Invocation )
+		public void fill( BSTreeBenchmark benchmark )
+		{
+			tree = BSTree.fromSorted( benchmark.sorted );
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.MILLISECONDS )
+	public BSTree<Integer> add()
+	{
+		BSTree<Integer> built = new BSTree<>( true );
+		for( Integer key : keys )
+		{
+			built.add( key );
+		}
+		return built;
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.NANOSECONDS )
+	public BSTreeNode<Integer> search()
+	{
+		return tree.search( probes[next++ & ( PROBES - 1 )] );
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.NANOSECONDS )
+	public boolean contains()
+	{
+		return tree.contains( probes[next++ & ( PROBES - 1 )] );
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.NANOSECONDS )
+	public int getHeight()
+	{
+		return tree.getHeight();
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.MILLISECONDS )
+	public void removeMin( Drain drain, Blackhole blackhole )
+	{
+		BSTreeNode<Integer> node;
+		while( ( node = drain.tree.removeMin() ) != null )
+		{
+			blackhole.consume( node );
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.MILLISECONDS )
+	public void removeMax( Drain drain, Blackhole blackhole )
+	{
+		BSTreeNode<Integer> node;
+		while( ( node = drain.tree.removeMax() ) != null )
+		{
+			blackhole.consume( node );
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.MILLISECONDS )
+	public void inorderIterator( Blackhole blackhole )
+	{
+		traverse( tree.inorderIterator(), blackhole );
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.MILLISECONDS )
+	public void preorderIterator( Blackhole blackhole )
+	{
+		traverse( tree.preorderIterator(), blackhole );
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.MILLISECONDS )
+	public void postorderIterator( Blackhole blackhole )
+	{
+		traverse( tree.postorderIterator(), blackhole );
+	}
+
+	private static void traverse( Iterator<Integer> it, Blackhole blackhole )
+	{
+		while( it.hasNext() )
+		{
+			blackhole.consume( it.next() );
+		}
+	}
+
+	private static Integer[] box( int[] values )
+	{
+		Integer[] boxed = new Integer[values.length];
+		for( int i = 0; i < values.length; i++ )
+		{
+			boxed[i] = values[i];
+		}
+		return boxed;
+	}
+}
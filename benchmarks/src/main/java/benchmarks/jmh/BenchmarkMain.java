@@ -0,0 +1,48 @@
+package benchmarks.jmh;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks and writes the results as JSON, by default to
+ * jmh-result.json, so runs of different releases can be compared. Takes the
+ * usual JMH command line options; -rf and -rff override the format and file.
+ *
+ * Usage: java -jar benchmarks.jar [JMH options] [benchmark regexp]
+ *
+ * For example, a quick run of the small BSTree sizes:
+ * java -jar benchmarks.jar BSTreeBenchmark -p size=1000,100000 -f 1 -wi 1 -i 3
+ */
+public class BenchmarkMain
+{
+	private static final String RESULT_FILE = "jmh-result.json";
+
+	public static void main( String[] args ) throws IOException, RunnerException, CommandLineOptionException
+	{
+		CommandLineOptions commandLine = new CommandLineOptions( args );
+		if( commandLine.shouldHelp() )
+		{
+			commandLine.showHelp();
+			return;
+		}
+		Options options = new OptionsBuilder()
+				.parent( commandLine )
+				.resultFormat( commandLine.getResultFormat().orElse( ResultFormatType.JSON ) )
+				.result( commandLine.getResult().orElse( RESULT_FILE ) )
+				.build();
+		Runner runner = new Runner( options );
+		if( commandLine.shouldList() )
+		{
+			runner.list();
+			return;
+		}
+		runner.run();
+	}
+}
@@ -0,0 +1,143 @@
+package benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.BSTree;
+import implementations.ConcurrentBSTree;
+import utilities.BSTreeADT;
+
+/**
+ * Measures several threads filling and searching one shared index, as
+ * parallel readers of input files would, with ConcurrentBSTree and with a
+ * self-balancing BSTree behind a single lock. Each call starts from an empty
+ * index; every thread adds its own slice of random words and then looks up
+ * as many words drawn from the whole set, so half of the operations are
+ * writes. The time reported is that of one call, so a collection that scales
+ * takes less time as threads are added.
+ *
+ * The threads are started once per trial and not timed.
+ */
+@State( Scope.Benchmark )
+@Fork( value = 1, jvmArgsAppend = "-Xmx4g" )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+public class ConcurrentBSTreeBenchmark
+{
+	/** The shared index being measured. */
+	public enum Index
+	{
+		/** A ConcurrentBSTree, without locks. */
+		CONCURRENT,
+
+		/** A BSTree, every call made holding its lock. */
+		LOCKED
+	}
+
+	@Param( { "1", "2", "4", "8", "16" } )
+	public int threads;
+
+	@Param( { "100000", "1000000" } )
+	public int size;
+
+	@Param( { "CONCURRENT", "LOCKED" } )
+	public Index index;
+
+	private String[] words;
+	private ExecutorService workers;
+
+	@Setup( Level.Trial )
+	public void setUp()
+	{
+		Random random = new Random( 42 );
+		words = new String[size];
+		for( int i = 0; i < size; i++ )
+		{
+			words[i] = Long.toString( random.nextLong() & Long.MAX_VALUE, 36 );
+		}
+		workers = Executors.newFixedThreadPool( threads );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown()
+	{
+		workers.shutdownNow();
+	}
+
+	@Benchmark
+	@BenchmarkMode( Mode.AverageTime )
+	@OutputTimeUnit( TimeUnit.MILLISECONDS )
+	public int ingest() throws InterruptedException, ExecutionException
+	{
+		BSTreeADT<String> shared = index == Index.CONCURRENT ? new ConcurrentBSTree<>() : new BSTree<>( true );
+		boolean locked = index == Index.LOCKED;
+		List<Callable<Integer>> slices = new ArrayList<>( threads );
+		for( int t = 0; t < threads; t++ )
+		{
+			int from = (int) ( (long) size * t / threads );
+			int to = (int) ( (long) size * ( t + 1 ) / threads );
+			int seed = t;
+			slices.add( () -> {
+				for( int i = from; i < to; i++ )
+				{
+					if( locked )
+					{
+						synchronized( shared )
+						{
+							shared.add( words[i] );
+						}
+					}
+					else
+					{
+						shared.add( words[i] );
+					}
+				}
+				Random random = new Random( seed );
+				int found = 0;
+				for( int i = from; i < to; i++ )
+				{
+					String word = words[random.nextInt( size )];
+					if( locked )
+					{
+						synchronized( shared )
+						{
+							found += shared.contains( word ) ? 1 : 0;
+						}
+					}
+					else
+					{
+						found += shared.contains( word ) ? 1 : 0;
+					}
+				}
+				return found;
+			} );
+		}
+		int found = 0;
+		for( Future<Integer> slice : workers.invokeAll( slices ) )
+		{
+			found += slice.get();
+		}
+		return found;
+	}
+}
@@ -0,0 +1,148 @@
+package benchmarks.jmh;
+
+import java.util.Random;
+
+/**
+ * The orders in which benchmark keys are inserted into a tree and the keys
+ * that are then looked up. Keys are the even numbers below twice the size, so
+ * that odd probes miss.
+ */
+public enum KeyDistribution
+{
+	/** Keys in random order; probes uniform over hits and misses. */
+	RANDOM,
+
+	/** Keys in ascending order; probes ascending and wrapping around. */
+	ASCENDING,
+
+	/**
+	 * Keys drawn from a Zipfian distribution, so a few keys repeat often and
+	 * the tree holds fewer distinct keys than were drawn; probes follow the
+	 * same distribution. Popular keys are scattered over the key range.
+	 */
+	ZIPF;
+
+	private static final double ZIPF_THETA = 0.99;
+
+	/**
+	 * Generates the keys to insert, in insertion order.
+	 *
+	 * @param size   the number of keys
+	 * @param random the source of randomness
+	 * @return the keys
+	 */
+	public int[] keys( int size, Random random )
+	{
+		int[] keys = new int[size];
+		switch( this )
+		{
+			case RANDOM:
+				for( int i = 0; i < size; i++ )
+				{
+					int j = random.nextInt( i + 1 );
+					keys[i] = keys[j];
+					keys[j] = 2 * i;
+				}
+				break;
+			case ASCENDING:
+				for( int i = 0; i < size; i++ )
+				{
+					keys[i] = 2 * i;
+				}
+				break;
+			default:
+				Zipf zipf = new Zipf( size );
+				for( int i = 0; i < size; i++ )
+				{
+					keys[i] = scatter( zipf.next( random ), size );
+				}
+		}
+		return keys;
+	}
+
+	/**
+	 * Generates keys to look up.
+	 *
+	 * @param size   the number of keys inserted
+	 * @param count  the number of probes
+	 * @param random the source of randomness
+	 * @return the probes
+	 */
+	public int[] probes( int size, int count, Random random )
+	{
+		int[] probes = new int[count];
+		switch( this )
+		{
+			case RANDOM:
+				for( int i = 0; i < count; i++ )
+				{
+					probes[i] = random.nextInt( 2 * size );
+				}
+				break;
+			case ASCENDING:
+				for( int i = 0; i < count; i++ )
+				{
+					probes[i] = 2 * ( i % size );
+				}
+				break;
+			default:
+				Zipf zipf = new Zipf( size );
+				for( int i = 0; i < count; i++ )
+				{
+					probes[i] = scatter( zipf.next( random ), size );
+				}
+		}
+		return probes;
+	}
+
+	/**
+	 * Maps a rank to an even key with a multiplicative hash. The multiplier is
+	 * a prime larger than any int size, so distinct ranks get distinct keys.
+	 */
+	private static int scatter( long rank, int size )
+	{
+		return 2 * (int) Math.floorMod( rank * 2654435761L, (long) size );
+	}
+
+	/**
+	 * Draws ranks from 0 to n - 1 with probability proportional to
+	 * 1 / (rank + 1)^theta, after Gray et al., "Quickly Generating
+	 * Billion-Record Synthetic Databases".
+	 */
+	private static final class Zipf
+	{
+		private final int n;
+		private final double zetan;
+		private final double alpha;
+		private final double eta;
+
+		Zipf( int n )
+		{
+			this.n = n;
+			double zeta2 = 1 + Math.pow( 0.5, ZIPF_THETA );
+			double sum = 0;
+			for( int i = 1; i <= n; i++ )
+			{
+				sum += 1 / Math.pow( i, ZIPF_THETA );
+			}
+			zetan = sum;
+			alpha = 1 / ( 1 - ZIPF_THETA );
+			eta = ( 1 - Math.pow( 2.0 / n, 1 - ZIPF_THETA ) ) / ( 1 - zeta2 / zetan );
+		}
+
+		long next( Random random )
+		{
+			double u = random.nextDouble();
+			double uz = u * zetan;
+			if( uz < 1 )
+			{
+				return 0;
+			}
+			if( uz < 1 + Math.pow( 0.5, ZIPF_THETA ) )
+			{
+				return Math.min( 1, n - 1 );
+			}
+			return Math.min( (long) ( n * Math.pow( eta * u - eta + 1, alpha ) ), n - 1 );
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package benchmarks.jmh;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appDomain.RepositoryFormat;
+import appDomain.ScannerTokenizer;
+import appDomain.WordTracker;
+import implementations.BSTree;
+
+/**
+ * Compares saving and loading a repository with Java serialization, as
+ * legacy repository.ser files were written, and with RepositoryFormat. The
+ * repository is built by indexing a sample file under the given number of
+ * distinct file names, so it has many files per word. Run from the
+ * repository root so the default sample file is found.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Xmx2g" )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+public class RepositoryBenchmark
+{
+	@Param( "200" )
+	public int fileCount;
+
+	@Param( "res/test3.txt" )
+	public String sampleFile;
+
+	private BSTree<WordTracker> tree;
+	private byte[] serialized;
+	private byte[] binary;
+
+	@Setup( Level.Trial )
+	public void setUp() throws IOException
+	{
+		tree = new BSTree<>( true );
+		ScannerTokenizer tokenizer = new ScannerTokenizer();
+		for( int i = 0; i < fileCount; i++ )
+		{
+			String fileName = "corpus/file" + i + ".txt";
+			try( Reader in = new FileReader( sampleFile ) )
+			{
+				tokenizer.tokenize( in, ( word, line ) -> tree
+						.computeIfAbsent( word, WordTracker.WORD_ORDER, w -> new WordTracker( w.toString() ) )
+						.addOccurrence( fileName, line ) );
+			}
+		}
+		serialized = serialize();
+		binary = write();
+	}
+
+	@Benchmark
+	public byte[] serialize() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( new BufferedOutputStream( bytes ) ) )
+		{
+			out.writeObject( tree );
+		}
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public Object deserialize() throws IOException, ClassNotFoundException
+	{
+		try( ObjectInputStream in = new ObjectInputStream(
+				new BufferedInputStream( new ByteArrayInputStream( serialized ) ) ) )
+		{
+			return in.readObject();
+		}
+	}
+
+	@Benchmark
+	public byte[] write() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		RepositoryFormat.write( tree, bytes );
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public BSTree<WordTracker> read() throws IOException
+	{
+		return RepositoryFormat.read( new ByteArrayInputStream( binary ) );
+	}
+}
@@ -0,0 +1,71 @@
+package benchmarks.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.BSTree;
+
+/**
+ * Measures loading sorted words into a plain BSTree and into a
+ * self-balancing one, then looking each of them up. Sorted input turns the
+ * plain tree into a linked list, so its time grows quadratically with the
+ * size while the balanced tree stays at O(n log n). Each call builds and
+ * searches a new tree and returns its height.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Xmx4g" )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+public class SortedIngestBenchmark
+{
+	@Param( { "1000", "2000", "4000", "8000" } )
+	public int size;
+
+	@Param( { "false", "true" } )
+	public boolean balanced;
+
+	private String[] words;
+
+	@Setup( Level.Trial )
+	public void setUp()
+	{
+		words = new String[size];
+		for( int i = 0; i < size; i++ )
+		{
+			words[i] = String.format( "w%08d", i );
+		}
+	}
+
+	@Benchmark
+	public int ingest()
+	{
+		BSTree<String> tree = new BSTree<>( balanced );
+		for( String word : words )
+		{
+			tree.add( word );
+		}
+		int found = 0;
+		for( String word : words )
+		{
+			if( tree.contains( word ) )
+			{
+				found++;
+			}
+		}
+		return tree.getHeight() + found;
+	}
+}
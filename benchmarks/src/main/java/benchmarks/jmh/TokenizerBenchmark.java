@@ -0,0 +1,75 @@
+package benchmarks.jmh;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appDomain.RegexTokenizer;
+import appDomain.ScannerTokenizer;
+import appDomain.Tokenizer;
+
+/**
+ * Compares the regular expression tokenizer with the hand-written scanner
+ * on a sample file repeated until it reaches the given size. Each call
+ * tokenizes the whole text, so the throughput in MB/s is the size divided
+ * by the reported time. Run from the repository root so the default sample
+ * file is found.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Xmx2g" )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+public class TokenizerBenchmark
+{
+	@Param( { "1", "16" } )
+	public int megabytes;
+
+	@Param( { "regex", "scanner" } )
+	public String tokenizer;
+
+	@Param( "res/test3.txt" )
+	public String sampleFile;
+
+	private char[] text;
+	private Tokenizer instance;
+
+	@Setup( Level.Trial )
+	public void setUp() throws IOException
+	{
+		String sample = new String( Files.readAllBytes( Paths.get( sampleFile ) ), Charset.defaultCharset() );
+		int size = megabytes * 1024 * 1024;
+		StringBuilder builder = new StringBuilder( size + sample.length() );
+		while( builder.length() < size )
+		{
+			builder.append( sample );
+		}
+		text = builder.toString().toCharArray();
+		instance = tokenizer.equals( "regex" ) ? new RegexTokenizer() : new ScannerTokenizer();
+	}
+
+	@Benchmark
+	public long tokenize() throws IOException
+	{
+		long[] count = { 0 };
+		instance.tokenize( new CharArrayReader( text ), ( word, line ) -> count[0] += word.length() );
+		return count[0];
+	}
+}
@@ -0,0 +1,214 @@
+package benchmarks.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import appDomain.ReportWriter;
+import appDomain.RepositoryFormat;
+import appDomain.ScannerTokenizer;
+import appDomain.StringTable;
+import appDomain.Tokenizer;
+import appDomain.WordTracker;
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * Measures the stages of a WordTracker run on one synthetic input file:
+ * tokenizing it, indexing it into a tree, saving and loading the repository
+ * and formatting the -po report. Each call handles the whole corpus.
+ *
+ * The corpus is generated from the words of a sample file, drawn with the
+ * frequencies they have there, so common words stay common. One word in
+ * sixteen gets a suffix, which makes the vocabulary grow with the corpus as
+ * it does in real text. Run from the repository root so the default sample
+ * file is found.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Fork( value = 1, jvmArgsAppend = "-Xmx2g" )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+public class WordTrackerBenchmark
+{
+	private static final String FILE_NAME = "corpus/synthetic.txt";
+
+	@Param( { "1", "16" } )
+	public int megabytes;
+
+	@Param( "res/test3.txt" )
+	public String sampleFile;
+
+	private char[] text;
+	private int file;
+	private BSTree<WordTracker> index;
+	private byte[] repository;
+	private Path repositoryFile;
+
+	@Setup( Level.Trial )
+	public void setUp() throws IOException
+	{
+		text = generate( sampleFile, megabytes * 1024 * 1024 );
+		file = StringTable.FILES.id( FILE_NAME );
+		index = index();
+		Iterator<WordTracker> it = index.inorderIterator();
+		while( it.hasNext() )
+		{
+			it.next().seal();
+		}
+		repository = save();
+		repositoryFile = Files.createTempFile( "repository", ".dat" );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists( repositoryFile );
+	}
+
+	@Benchmark
+	public long tokenize() throws IOException
+	{
+		long[] count = { 0 };
+		new ScannerTokenizer().tokenize( new CharArrayReader( text ), ( word, line ) -> count[0] += line );
+		return count[0];
+	}
+
+	@Benchmark
+	public BSTree<WordTracker> index() throws IOException
+	{
+		BSTree<WordTracker> tree = new BSTree<>( true );
+		new ScannerTokenizer().tokenize( new CharArrayReader( text ), ( word, line ) -> tree
+				.computeIfAbsent( word, WordTracker.WORD_ORDER, w -> new WordTracker( w.toString() ) )
+				.addOccurrence( file, line ) );
+		return tree;
+	}
+
+	@Benchmark
+	public byte[] save() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream( repository == null ? 1 << 16 : repository.length );
+		RepositoryFormat.write( index, bytes );
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Saves to disk the way a run does: to a temporary file that is synced
+	 * and renamed over the repository.
+	 */
+	@Benchmark
+	public void saveToFile() throws IOException
+	{
+		RepositoryFormat.write( index, repositoryFile );
+	}
+
+	@Benchmark
+	public BSTree<WordTracker> load() throws IOException
+	{
+		return RepositoryFormat.read( new ByteArrayInputStream( repository ) );
+	}
+
+	@Benchmark
+	public void format( Blackhole blackhole ) throws IOException
+	{
+		try( ReportWriter report = new ReportWriter( new DiscardingWriter( blackhole ) ) )
+		{
+			Iterator<WordTracker> it = index.inorderIterator();
+			while( it.hasNext() )
+			{
+				report.write( it.next(), "-po", FILE_NAME );
+			}
+		}
+	}
+
+	/**
+	 * Generates text of at least the given size, in lines of 6 to 14 words.
+	 */
+	private static char[] generate( String sampleFile, int size ) throws IOException
+	{
+		List<String> words = new ArrayList<>();
+		Tokenizer tokenizer = new ScannerTokenizer();
+		try( Reader in = new FileReader( sampleFile ) )
+		{
+			tokenizer.tokenize( in, ( word, line ) -> words.add( word.toString() ) );
+		}
+
+		Random random = new Random( 42 );
+		int suffixes = Math.max( 1, size / 1024 );
+		StringBuilder text = new StringBuilder( size + 256 );
+		while( text.length() < size )
+		{
+			int count = 6 + random.nextInt( 9 );
+			for( int i = 0; i < count; i++ )
+			{
+				text.append( words.get( random.nextInt( words.size() ) ) );
+				if( random.nextInt( 16 ) == 0 )
+				{
+					// Letters only, so the tokenizer keeps the suffix in the word
+					for( int suffix = random.nextInt( suffixes ) + 1; suffix > 0; suffix /= 26 )
+					{
+						text.append( (char) ( 'a' + suffix % 26 ) );
+					}
+				}
+				text.append( i + 1 < count ? ' ' : '\n' );
+			}
+		}
+		return text.toString().toCharArray();
+	}
+
+	/**
+	 * Hands written characters to a Blackhole instead of keeping them.
+	 */
+	private static final class DiscardingWriter extends Writer
+	{
+		private final Blackhole blackhole;
+
+		DiscardingWriter( Blackhole blackhole )
+		{
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void write( char[] buffer, int offset, int length )
+		{
+			blackhole.consume( buffer );
+			blackhole.consume( length );
+		}
+
+		@Override
+		public void flush()
+		{
+		}
+
+		@Override
+		public void close()
+		{
+		}
+	}
+}
@@ -0,0 +1,910 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import utilities.KeyComparator;
+import java.util.NoSuchElementException;
+import java.io.Serializable;
+
+
+public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Serializable {
+    private static final long serialVersionUID = 1L;
+    private BSTreeNode<E> root;
+    private int size;
+    private final boolean balanced;
+    
+    /** Scratch buffer holding the root-to-node path of the current update. */
+    private transient BSTreeNode<E>[] path;
+
+    public BSTree() {
+        this(false);
+    }
+
+    public BSTree(E rootData) {
+        this.root = new BSTreeNode<>(rootData);
+        this.size = 1;
+        this.balanced = false;
+    }
+
+    /**
+     * Creates an empty tree. A balanced tree rebalances itself (AVL) on every
+     * insert and removal, so its height stays O(log n) even when the elements
+     * arrive in sorted order.
+     *
+     * @param balanced true to keep the tree height-balanced
+     */
+    public BSTree(boolean balanced) {
+        this.root = null;
+        this.size = 0;
+        this.balanced = balanced;
+    }
+
+    /**
+     * Builds a self-balancing tree of minimal height from elements that are
+     * already in ascending order, in linear time and without comparing them.
+     * The caller is responsible for the order; duplicates must not be present.
+     *
+     * @param <E>    the type of elements
+     * @param sorted the elements in ascending order
+     * @return a balanced tree holding the elements
+     * @throws NullPointerException if the array or one of its elements is null
+     */
+    public static <E extends Comparable<? super E>> BSTree<E> fromSorted(E[] sorted) throws NullPointerException {
+        for (E element : sorted) {
+            if (element == null) {
+                throw new NullPointerException("Entry cannot be null.");
+            }
+        }
+        BSTree<E> tree = new BSTree<>(true);
+        tree.root = build(sorted, 0, sorted.length);
+        tree.size = sorted.length;
+        return tree;
+    }
+
+    /**
+     * Builds a self-balancing tree of minimal height from an iteration of
+     * elements that are already in ascending order, in linear time and without
+     * comparing them. Exactly count elements are taken from the iterator.
+     *
+     * @param <E>    the type of elements
+     * @param sorted an iterator over the elements in ascending order
+     * @param count  the number of elements to take
+     * @return a balanced tree holding the elements
+     * @throws NullPointerException if one of the elements is null
+     * @throws NoSuchElementException if the iterator holds fewer than count elements
+     */
+    public static <E extends Comparable<? super E>> BSTree<E> fromSorted(Iterator<E> sorted, int count)
+            throws NullPointerException, NoSuchElementException {
+        BSTree<E> tree = new BSTree<>(true);
+        tree.root = build(sorted, count);
+        tree.size = count;
+        return tree;
+    }
+
+    /**
+     * Rebuilds this tree in place into a tree of minimal height, reusing its
+     * nodes. This runs in linear time and is useful for trees that do not
+     * balance themselves, such as a tree filled from sorted input.
+     */
+    @SuppressWarnings("unchecked")
+    public void rebalance() {
+        BSTreeNode<E>[] nodes = (BSTreeNode<E>[]) new BSTreeNode<?>[size];
+        int count = 0;
+        java.util.ArrayDeque<BSTreeNode<E>> stack = new java.util.ArrayDeque<>();
+        BSTreeNode<E> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            nodes[count++] = current;
+            current = current.right;
+        }
+        root = relink(nodes, 0, count);
+    }
+
+    /**
+     * Checks whether this tree rebalances itself on modification.
+     *
+     * @return true if the tree is self-balancing
+     */
+    public boolean isBalanced() {
+        return balanced;
+    }
+
+	@Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        if (root == null) {
+            throw new NullPointerException("The tree is empty.");
+        }
+        return root;
+    }
+
+    @Override
+    public int getHeight() {
+        return height(root);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        path = null;
+    }
+
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return search(entry) != null;
+    }
+
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        BSTreeNode<E> node = root;
+        while (node != null) {
+            int cmp = entry.compareTo(node.element);
+            if (cmp == 0) {
+                return node;
+            }
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        return null;
+    }
+    
+    /**
+     * Retrieves a node from the tree by a key of another type, so callers can
+     * look elements up without building a probe element.
+     *
+     * @param <K>        the type of the key
+     * @param key        the key being searched
+     * @param comparator orders the key against the elements of this tree
+     * @return the node with the matching element, null if not found
+     * @throws NullPointerException if the key is null
+     */
+    public <K> BSTreeNode<E> search(K key, KeyComparator<? super K, ? super E> comparator)
+            throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("Key cannot be null.");
+        }
+        BSTreeNode<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.element);
+            if (cmp == 0) {
+                return node;
+            }
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        return null;
+    }
+    
+    @Override
+    public BSTreeNode<E> floor(E entry) throws NullPointerException {
+        return nearest(entry, true, true);
+    }
+    
+    @Override
+    public BSTreeNode<E> ceiling(E entry) throws NullPointerException {
+        return nearest(entry, false, true);
+    }
+    
+    @Override
+    public BSTreeNode<E> lower(E entry) throws NullPointerException {
+        return nearest(entry, true, false);
+    }
+    
+    @Override
+    public BSTreeNode<E> higher(E entry) throws NullPointerException {
+        return nearest(entry, false, false);
+    }
+    
+    /**
+     * Finds the node closest to an element on one side of it in a single
+     * descent, remembering the last node passed on that side.
+     *
+     * @param entry     the element to compare against
+     * @param below     whether to look for smaller elements rather than larger
+     * @param inclusive whether an equal element counts
+     * @return the closest node, null if there is none
+     */
+    private BSTreeNode<E> nearest(E entry, boolean below, boolean inclusive) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        BSTreeNode<E> best = null;
+        BSTreeNode<E> node = root;
+        while (node != null) {
+            int cmp = entry.compareTo(node.element);
+            if (cmp == 0 && inclusive) {
+                return node;
+            }
+            if (below ? cmp > 0 : cmp >= 0) {
+                if (below) {
+                    best = node;
+                }
+                node = node.right;
+            } else {
+                if (!below) {
+                    best = node;
+                }
+                node = node.left;
+            }
+        }
+        return best;
+    }
+    
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null.");
+        }
+        if (root == null) {
+            root = new BSTreeNode<>(newEntry);
+            size++;
+            return true;
+        }
+        int depth = 0;
+        BSTreeNode<E> node = root;
+        while (true) {
+            int cmp = newEntry.compareTo(node.element);
+            if (cmp == 0) {
+                return false;
+            }
+            pushPath(depth++, node);
+            if (cmp < 0) {
+                if (node.left == null) {
+                    node.left = new BSTreeNode<>(newEntry);
+                    break;
+                }
+                node = node.left;
+            } else {
+                if (node.right == null) {
+                    node.right = new BSTreeNode<>(newEntry);
+                    break;
+                }
+                node = node.right;
+            }
+        }
+        size++;
+        retrace(depth);
+        return true;
+    }
+    
+    /**
+     * Finds the element whose key equals the given key, or inserts the element
+     * produced by the factory if there is none, in a single descent. The
+     * factory is only called on a miss and must return an element whose key
+     * equals the given key.
+     *
+     * @param <K>     the key type the elements are ordered by
+     * @param key     the key to look up
+     * @param keyOf   extracts the ordering key from an element
+     * @param factory creates the element to insert on a miss
+     * @return the existing element, or the newly inserted one
+     * @throws NullPointerException if the key or the created element is null
+     */
+    public <K extends Comparable<? super K>> E computeIfAbsent(K key,
+            java.util.function.Function<? super E, ? extends K> keyOf,
+            java.util.function.Function<? super K, ? extends E> factory) throws NullPointerException {
+        return computeIfAbsent(key, (k, e) -> k.compareTo(keyOf.apply(e)), factory);
+    }
+    
+    /**
+     * Finds the element matching the given key, or inserts the element produced
+     * by the factory if there is none, in a single descent. The key may be of a
+     * different type than the elements; the factory is only called on a miss and
+     * must return an element matching the given key.
+     *
+     * @param <K>        the type of the key
+     * @param key        the key to look up
+     * @param comparator orders the key against the elements of this tree
+     * @param factory    creates the element to insert on a miss
+     * @return the existing element, or the newly inserted one
+     * @throws NullPointerException if the key or the created element is null
+     */
+    public <K> E computeIfAbsent(K key, KeyComparator<? super K, ? super E> comparator,
+            java.util.function.Function<? super K, ? extends E> factory) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("Key cannot be null.");
+        }
+        int depth = 0;
+        BSTreeNode<E> node = root;
+        int cmp = 0;
+        while (node != null) {
+            cmp = comparator.compare(key, node.element);
+            if (cmp == 0) {
+                return node.element;
+            }
+            pushPath(depth++, node);
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        E created = factory.apply(key);
+        if (created == null) {
+            throw new NullPointerException("Created entry cannot be null.");
+        }
+        BSTreeNode<E> newNode = new BSTreeNode<>(created);
+        if (depth == 0) {
+            root = newNode;
+        } else if (cmp < 0) {
+            path[depth - 1].left = newNode;
+        } else {
+            path[depth - 1].right = newNode;
+        }
+        size++;
+        retrace(depth);
+        return created;
+    }
+    
+    /**
+     * Merges every element of another tree into this one in linear time. Both
+     * trees are walked in order and merge-joined, and this tree is rebuilt as a
+     * perfectly balanced tree from the result. Elements found in both trees are
+     * replaced by the combiner's result, which receives this tree's element
+     * first. The other tree is left unchanged.
+     *
+     * @param other    the tree whose elements are merged in
+     * @param combiner combines two equal elements into the one that is kept
+     * @throws NullPointerException if the other tree or a combined element is null
+     */
+    public void merge(BSTree<E> other, java.util.function.BinaryOperator<E> combiner)
+            throws NullPointerException {
+        if (other == null) {
+            throw new NullPointerException("Tree cannot be null.");
+        }
+        Object[] merged = new Object[size + other.size];
+        int count = 0;
+        Iterator<E> mine = inorderIterator();
+        Iterator<E> theirs = other.inorderIterator();
+        E a = mine.hasNext() ? mine.next() : null;
+        E b = theirs.hasNext() ? theirs.next() : null;
+        while (a != null || b != null) {
+            int cmp = (a == null) ? 1 : (b == null) ? -1 : a.compareTo(b);
+            if (cmp < 0) {
+                merged[count++] = a;
+                a = mine.hasNext() ? mine.next() : null;
+            } else if (cmp > 0) {
+                merged[count++] = b;
+                b = theirs.hasNext() ? theirs.next() : null;
+            } else {
+                E combined = combiner.apply(a, b);
+                if (combined == null) {
+                    throw new NullPointerException("Combined entry cannot be null.");
+                }
+                merged[count++] = combined;
+                a = mine.hasNext() ? mine.next() : null;
+                b = theirs.hasNext() ? theirs.next() : null;
+            }
+        }
+        root = build(merged, 0, count);
+        size = count;
+    }
+    
+    /**
+     * Builds a height-balanced subtree from the next count elements of a sorted
+     * iteration. The left subtree is built first so that elements are consumed
+     * in order.
+     */
+    private static <E extends Comparable<? super E>> BSTreeNode<E> build(Iterator<E> sorted, int count) {
+        if (count <= 0) {
+            return null;
+        }
+        int leftCount = (count - 1) / 2;
+        BSTreeNode<E> left = build(sorted, leftCount);
+        E element = sorted.next();
+        if (element == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        BSTreeNode<E> node = new BSTreeNode<>(element);
+        node.left = left;
+        node.right = build(sorted, count - leftCount - 1);
+        updateHeight(node);
+        return node;
+    }
+    
+    /**
+     * Links a sorted slice of existing nodes into a height-balanced subtree.
+     */
+    private static <E extends Comparable<? super E>> BSTreeNode<E> relink(BSTreeNode<E>[] nodes, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        BSTreeNode<E> node = nodes[middle];
+        node.left = relink(nodes, from, middle);
+        node.right = relink(nodes, middle + 1, to);
+        updateHeight(node);
+        return node;
+    }
+    
+    /**
+     * Builds a height-balanced subtree from a sorted slice of elements without
+     * comparing them. The middle element becomes the root, so the recursion is
+     * only as deep as the resulting tree.
+     *
+     * @param sorted the elements in ascending order
+     * @param from   first index of the slice, inclusive
+     * @param to     last index of the slice, exclusive
+     * @return the root of the subtree, or null for an empty slice
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Comparable<? super E>> BSTreeNode<E> build(Object[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        BSTreeNode<E> node = new BSTreeNode<>((E) sorted[middle]);
+        node.left = build(sorted, from, middle);
+        node.right = build(sorted, middle + 1, to);
+        updateHeight(node);
+        return node;
+    }
+    
+    @Override
+    public BSTreeNode<E> removeMin() {
+        if (root == null) {
+            return null;
+        }
+        int depth = 0;
+        BSTreeNode<E> minNode = root;
+        while (minNode.left != null) {
+            pushPath(depth++, minNode);
+            minNode = minNode.left;
+        }
+        if (depth == 0) { 
+            root = root.right;
+        } else {
+            path[depth - 1].left = minNode.right;
+        }
+        size--;
+        retrace(depth);
+        return minNode;
+    }
+    
+    @Override
+    public BSTreeNode<E> removeMax() {
+        if (root == null) {
+            return null;
+        }
+        int depth = 0;
+        BSTreeNode<E> maxNode = root;
+        while (maxNode.right != null) {
+            pushPath(depth++, maxNode);
+            maxNode = maxNode.right;
+        }
+        if (depth == 0) { 
+            root = root.left;
+        } else {
+            path[depth - 1].right = maxNode.left;
+        }
+        size--;
+        retrace(depth);
+        return maxNode;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void pushPath(int depth, BSTreeNode<E> node) {
+        if (path == null) {
+            path = (BSTreeNode<E>[]) new BSTreeNode<?>[32];
+        } else if (depth == path.length) {
+            path = java.util.Arrays.copyOf(path, depth * 2);
+        }
+        path[depth] = node;
+    }
+    
+    /**
+     * Walks the recorded root-to-parent path bottom-up after an insert or a
+     * removal, refreshing the stored heights and rebalancing where needed. The
+     * walk stops as soon as a subtree keeps its old height, since nothing above
+     * it can change.
+     *
+     * @param depth number of nodes recorded in the path buffer
+     */
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            BSTreeNode<E> node = path[i];
+            int oldHeight = node.height;
+            BSTreeNode<E> subtree = rebalance(node);
+            if (subtree != node) {
+                if (i == 0) {
+                    root = subtree;
+                } else if (path[i - 1].left == node) {
+                    path[i - 1].left = subtree;
+                } else {
+                    path[i - 1].right = subtree;
+                }
+            }
+            if (subtree.height == oldHeight) {
+                break;
+            }
+        }
+        if (depth > 0) {
+            java.util.Arrays.fill(path, 0, depth, null);
+        }
+    }
+    
+    private static int height(BSTreeNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+    
+    private static void updateHeight(BSTreeNode<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+    
+    /**
+     * Refreshes the height of a node whose children may have changed and, for
+     * balanced trees, restores the AVL invariant with at most two rotations.
+     *
+     * @return the node now at the top of this subtree
+     */
+    private BSTreeNode<E> rebalance(BSTreeNode<E> node) {
+        updateHeight(node);
+        if (!balanced) {
+            return node;
+        }
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+    
+    private BSTreeNode<E> rotateRight(BSTreeNode<E> node) {
+        BSTreeNode<E> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+    
+    private BSTreeNode<E> rotateLeft(BSTreeNode<E> node) {
+        BSTreeNode<E> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+    
+    /**
+     * Repositories written before nodes tracked their height deserialize with
+     * every height at zero, so those are recomputed bottom-up once on load.
+     */
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (root == null || root.height != 0) {
+            return;
+        }
+        java.util.ArrayDeque<BSTreeNode<E>> pending = new java.util.ArrayDeque<>();
+        java.util.ArrayDeque<BSTreeNode<E>> postorder = new java.util.ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            BSTreeNode<E> node = pending.pop();
+            postorder.push(node);
+            if (node.left != null) {
+                pending.push(node.left);
+            }
+            if (node.right != null) {
+                pending.push(node.right);
+            }
+        }
+        while (!postorder.isEmpty()) {
+            updateHeight(postorder.pop());
+        }
+    }
+    
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new InorderIterator(root, null, null);
+    }
+    
+    @Override
+    public Iterator<E> subTreeIterator(E from, E to) throws NullPointerException, IllegalArgumentException {
+        if (from == null || to == null) {
+            throw new NullPointerException("Bounds cannot be null.");
+        }
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("From cannot be greater than to.");
+        }
+        return new InorderIterator(root, from, to);
+    }
+    
+    @Override
+    public Iterator<E> headIterator(E to) throws NullPointerException {
+        if (to == null) {
+            throw new NullPointerException("Bound cannot be null.");
+        }
+        return new InorderIterator(root, null, to);
+    }
+    
+    @Override
+    public Iterator<E> tailIterator(E from) throws NullPointerException {
+        if (from == null) {
+            throw new NullPointerException("Bound cannot be null.");
+        }
+        return new InorderIterator(root, from, null);
+    }
+    
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new PreorderIterator(root, null);
+    }
+    
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new PostorderIterator(root, null);
+    }
+    
+    /**
+     * Generates an in-order iteration over the whole tree that starts at an
+     * element, or at the first element after it if it is not in the tree.
+     * Reaching the start takes one descent from the root.
+     *
+     * @param entry the element to start from
+     * @return an iterator over the rest of the tree in order
+     * @throws NullPointerException if the element is null
+     */
+    public Iterator<E> inorderIterator(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return new InorderIterator(root, entry, null);
+    }
+    
+    /**
+     * Generates a pre-order iteration over the whole tree that starts at an
+     * element. If it is not in the tree, the iteration starts where it would
+     * be visited if it were added as a leaf. Reaching the start takes one
+     * descent from the root.
+     *
+     * @param entry the element to start from
+     * @return an iterator over the rest of the tree in pre-order
+     * @throws NullPointerException if the element is null
+     */
+    public Iterator<E> preorderIterator(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return new PreorderIterator(root, entry);
+    }
+    
+    /**
+     * Generates a post-order iteration over the whole tree that starts at an
+     * element. If it is not in the tree, the iteration starts where it would
+     * be visited if it were added as a leaf. Reaching the start takes one
+     * descent from the root.
+     *
+     * @param entry the element to start from
+     * @return an iterator over the rest of the tree in post-order
+     * @throws NullPointerException if the element is null
+     */
+    public Iterator<E> postorderIterator(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return new PostorderIterator(root, entry);
+    }
+    
+    /**
+     * An unsynchronized stack of nodes backed by an array. The iterators size
+     * it from the height of the tree, which bounds how many nodes they hold at
+     * once, so it normally never grows.
+     */
+    private static final class NodeStack<E extends Comparable<? super E>> {
+        private BSTreeNode<E>[] nodes;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        NodeStack(int capacity) {
+            nodes = (BSTreeNode<E>[]) new BSTreeNode<?>[Math.max(capacity, 1)];
+        }
+
+        void push(BSTreeNode<E> node) {
+            if (size == nodes.length) {
+                nodes = java.util.Arrays.copyOf(nodes, size * 2);
+            }
+            nodes[size++] = node;
+        }
+
+        BSTreeNode<E> pop() {
+            BSTreeNode<E> node = nodes[--size];
+            nodes[size] = null;
+            return node;
+        }
+
+        BSTreeNode<E> peek() {
+            return nodes[size - 1];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+    
+    /**
+     * Walks the tree in order, optionally from a lower bound, inclusive, to
+     * an upper bound, exclusive. Reaching the lower bound takes one descent,
+     * and the walk stops at the upper bound without looking further.
+     */
+    private class InorderIterator implements Iterator<E> {
+        private final NodeStack<E> stack;
+        private final E to;
+        
+        public InorderIterator(BSTreeNode<E> start, E from, E to) {
+            stack = new NodeStack<>(height(start));
+            this.to = to;
+            // Pushes the path to the first element not below the lower bound,
+            // skipping every node before it
+            BSTreeNode<E> node = start;
+            while (node != null) {
+                if (from != null && from.compareTo(node.element) > 0) {
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && (to == null || stack.peek().element.compareTo(to) < 0);
+        }
+        
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements.");
+            }
+            BSTreeNode<E> node = stack.pop();
+            pushLeft(node.right);
+            return node.element;
+        }
+        
+        private void pushLeft(BSTreeNode<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+    }
+    
+    /**
+     * Walks the tree in pre-order, optionally from an element. The stack holds
+     * the next node and the right subtrees still to come after it.
+     */
+    private class PreorderIterator implements Iterator<E> {
+        private final NodeStack<E> stack;
+        
+        public PreorderIterator(BSTreeNode<E> start, E from) {
+            stack = new NodeStack<>(height(start) + 1);
+            // Descends to the element, keeping the right subtree of each node
+            // left to the left, as visiting those nodes would have
+            BSTreeNode<E> node = start;
+            while (node != null) {
+                int cmp = from == null ? 0 : from.compareTo(node.element);
+                if (cmp == 0) {
+                    stack.push(node);
+                    break;
+                }
+                if (cmp < 0) {
+                    if (node.right != null) {
+                        stack.push(node.right);
+                    }
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+        
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements.");
+            }
+            BSTreeNode<E> node = stack.pop();
+            E result = node.element;
+            if (node.right != null) {
+                stack.push(node.right);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * Walks the tree in post-order, optionally from an element, holding only
+     * the path from the root to the next node, so creating it and each step
+     * take O(height) time and memory.
+     */
+    private class PostorderIterator implements Iterator<E> {
+        private final NodeStack<E> stack;
+        
+        public PostorderIterator(BSTreeNode<E> start, E from) {
+            stack = new NodeStack<>(height(start));
+            if (from == null) {
+                pushFirst(start);
+                return;
+            }
+            // Pushes the path to the element; where it would be a missing left
+            // child, its parent's right subtree comes before the parent
+            BSTreeNode<E> node = start;
+            while (node != null) {
+                stack.push(node);
+                int cmp = from.compareTo(node.element);
+                if (cmp == 0) {
+                    return;
+                }
+                if (cmp < 0 && node.left == null) {
+                    pushFirst(node.right);
+                    return;
+                }
+                node = cmp < 0 ? node.left : node.right;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+        
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements.");
+            }
+            BSTreeNode<E> node = stack.pop();
+            // A left child is followed by its right sibling's subtree, if any
+            if (!stack.isEmpty()) {
+                BSTreeNode<E> parent = stack.peek();
+                if (parent.left == node) {
+                    pushFirst(parent.right);
+                }
+            }
+            return node.element;
+        }
+        
+        /**
+         * Pushes the path from a node down to the first node of its subtree in
+         * post-order, the leaf reached by going left where possible.
+         */
+        private void pushFirst(BSTreeNode<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left != null ? node.left : node.right;
+            }
+        }
+    }
+}
@@ -7,12 +7,14 @@ public class BSTreeNode<E extends Comparable<? super E>> implements Serializable
     public E element;
     public BSTreeNode<E> left;
     public BSTreeNode<E> right;
+    int height;
     
     
     public BSTreeNode(E element) {
         this.element = element;
         this.left = null;
         this.right = null;
+        this.height = 1;
     }
     public E getElement() { return element; }
     public void setElement(E element) { this.element = element; }
@@ -22,4 +24,12 @@ public class BSTreeNode<E extends Comparable<? super E>> implements Serializable
 
     public BSTreeNode<E> getRight() { return right; }
     public void setRight(BSTreeNode<E> right) { this.right = right; }
+
+    /**
+     * Returns the height of the subtree rooted at this node, as maintained by
+     * the owning tree. A leaf has height 1.
+     *
+     * @return height of this subtree
+     */
+    public int getHeight() { return height; }
 }
@@ -0,0 +1,265 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.io.Serializable;
+
+/**
+ * A sorted collection that many threads can add to and search at once, for
+ * filling one shared index from several reader threads. It is backed by a
+ * lock-free skip list, which gives the same O(log n) expected cost per
+ * operation as a balanced tree without ever locking or rebalancing a shared
+ * root, so adds and searches on different keys do not contend.
+ *
+ * There is no tree underneath, so the tree shape that BSTreeADT exposes is
+ * that of the balanced tree of minimal height over the elements. getRoot and
+ * the preorder and postorder iterators are snapshot operations: each call
+ * copies every element into a new BSTree, taking linear time and memory, and
+ * sees none of the changes made afterwards. They suit occasional inspection,
+ * not a loop. getHeight reports the height of that tree, computed from the
+ * size rather than measured.
+ *
+ * The nodes returned by search, floor, ceiling, lower, higher and the
+ * removals are those the collection keeps for its elements, so they are the
+ * same node for as long as the element stays. They have no children.
+ *
+ * The inorder and range iterators walk the skip list directly and are weakly
+ * consistent: they never throw ConcurrentModificationException, return each
+ * element at most once, and see some but not necessarily all changes made
+ * after they were created. The same holds for size while updates are in
+ * progress.
+ *
+ * Only the collection is thread-safe; elements that are changed after they
+ * were added need their own synchronization.
+ *
+ * @param <E> the type of elements
+ */
+public class ConcurrentBSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, Serializable {
+    private static final long serialVersionUID = 1L;
+    private final ConcurrentSkipListMap<E, BSTreeNode<E>> elements = new ConcurrentSkipListMap<>();
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Returns the root of a new balanced tree over a snapshot of the elements.
+     * This takes linear time and memory on every call.
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        return snapshot().getRoot();
+    }
+
+    /**
+     * Returns the height that the tree returned by getRoot has, computed from
+     * the size in constant time. The skip list itself has no height; its
+     * expected search cost is logarithmic like that of the tree.
+     */
+    @Override
+    public int getHeight() {
+        return 32 - Integer.numberOfLeadingZeros(size());
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        // Removes one element at a time so that the count stays in step
+        while (removeMin() != null) {
+        }
+    }
+
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return elements.containsKey(entry);
+    }
+
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return elements.get(entry);
+    }
+
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null.");
+        }
+        if (elements.putIfAbsent(newEntry, new BSTreeNode<>(newEntry)) != null) {
+            return false;
+        }
+        size.increment();
+        return true;
+    }
+
+    /**
+     * Adds an element unless an equal one is present, atomically, and returns
+     * the element that ends up in the collection. Threads adding equal
+     * elements at the same time all receive the same one.
+     *
+     * @param newEntry the element to add
+     * @return the element already present, or newEntry if it was added
+     * @throws NullPointerException if the element is null
+     */
+    public E addIfAbsent(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null.");
+        }
+        BSTreeNode<E> existing = elements.putIfAbsent(newEntry, new BSTreeNode<>(newEntry));
+        if (existing != null) {
+            return existing.getElement();
+        }
+        size.increment();
+        return newEntry;
+    }
+
+    @Override
+    public BSTreeNode<E> removeMin() {
+        return removed(elements.pollFirstEntry());
+    }
+
+    @Override
+    public BSTreeNode<E> removeMax() {
+        return removed(elements.pollLastEntry());
+    }
+
+    @Override
+    public BSTreeNode<E> floor(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return node(elements.floorEntry(entry));
+    }
+
+    @Override
+    public BSTreeNode<E> ceiling(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return node(elements.ceilingEntry(entry));
+    }
+
+    @Override
+    public BSTreeNode<E> lower(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return node(elements.lowerEntry(entry));
+    }
+
+    @Override
+    public BSTreeNode<E> higher(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null.");
+        }
+        return node(elements.higherEntry(entry));
+    }
+
+    @Override
+    public Iterator<E> inorderIterator() {
+        return iterate(elements.keySet());
+    }
+
+    /**
+     * Walks the range of the skip list directly, so it is weakly consistent
+     * like the inorder iterator.
+     */
+    @Override
+    public Iterator<E> subTreeIterator(E from, E to) throws NullPointerException, IllegalArgumentException {
+        if (from == null || to == null) {
+            throw new NullPointerException("Bounds cannot be null.");
+        }
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("From cannot be greater than to.");
+        }
+        return iterate(elements.subMap(from, true, to, false).keySet());
+    }
+
+    @Override
+    public Iterator<E> headIterator(E to) throws NullPointerException {
+        if (to == null) {
+            throw new NullPointerException("Bound cannot be null.");
+        }
+        return iterate(elements.headMap(to, false).keySet());
+    }
+
+    @Override
+    public Iterator<E> tailIterator(E from) throws NullPointerException {
+        if (from == null) {
+            throw new NullPointerException("Bound cannot be null.");
+        }
+        return iterate(elements.tailMap(from, true).keySet());
+    }
+
+    /**
+     * Iterates in preorder over a new balanced tree built from a snapshot of
+     * the elements, which takes linear time and memory.
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return snapshot().preorderIterator();
+    }
+
+    /**
+     * Iterates in postorder over a new balanced tree built from a snapshot of
+     * the elements, which takes linear time and memory.
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return snapshot().postorderIterator();
+    }
+
+    private BSTreeNode<E> removed(Map.Entry<E, BSTreeNode<E>> entry) {
+        if (entry == null) {
+            return null;
+        }
+        size.decrement();
+        return entry.getValue();
+    }
+
+    private static <E extends Comparable<? super E>> BSTreeNode<E> node(Map.Entry<E, BSTreeNode<E>> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    private static <E> Iterator<E> iterate(Collection<E> keys) {
+        java.util.Iterator<E> it = keys.iterator();
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() throws NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements.");
+                }
+                return it.next();
+            }
+        };
+    }
+
+    /**
+     * Copies the elements, in order, into a balanced BSTree.
+     */
+    @SuppressWarnings("unchecked")
+    private BSTree<E> snapshot() {
+        return BSTree.fromSorted((E[]) elements.keySet().toArray(new Comparable<?>[0]));
+    }
+}
@@ -102,6 +102,46 @@ public interface BSTreeADT<E extends Comparable<? super E>> extends	Serializable
 	 */
 	public BSTreeNode<E> removeMax();
 
+	/**
+	 * Finds the largest element in the tree that is less than or equal to the
+	 * element passed in.
+	 * 
+	 * @param entry element to compare against
+	 * @return the node with the closest element, null if there is none
+	 * @throws NullPointerException if the element is null
+	 */
+	public BSTreeNode<E> floor( E entry ) throws NullPointerException;
+
+	/**
+	 * Finds the smallest element in the tree that is greater than or equal to
+	 * the element passed in.
+	 * 
+	 * @param entry element to compare against
+	 * @return the node with the closest element, null if there is none
+	 * @throws NullPointerException if the element is null
+	 */
+	public BSTreeNode<E> ceiling( E entry ) throws NullPointerException;
+
+	/**
+	 * Finds the largest element in the tree that is strictly less than the
+	 * element passed in.
+	 * 
+	 * @param entry element to compare against
+	 * @return the node with the closest element, null if there is none
+	 * @throws NullPointerException if the element is null
+	 */
+	public BSTreeNode<E> lower( E entry ) throws NullPointerException;
+
+	/**
+	 * Finds the smallest element in the tree that is strictly greater than the
+	 * element passed in.
+	 * 
+	 * @param entry element to compare against
+	 * @return the node with the closest element, null if there is none
+	 * @throws NullPointerException if the element is null
+	 */
+	public BSTreeNode<E> higher( E entry ) throws NullPointerException;
+
 	/**
 	 * Generates an in-order iteration over the contents of the tree. Elements are
 	 * in their natural order.
@@ -125,4 +165,37 @@ public interface BSTreeADT<E extends Comparable<? super E>> extends	Serializable
 	 * @return an iterator with the elements in a root element last order
 	 */
 	public Iterator<E> postorderIterator();
+
+	/**
+	 * Generates an in-order iteration over the elements from one element,
+	 * inclusive, to another, exclusive. The first element is found in
+	 * logarithmic time and only the elements in the range are visited.
+	 * 
+	 * @param from the lowest element of the range
+	 * @param to   the element the range stops before
+	 * @return an iterator with the elements of the range in their natural order
+	 * @throws NullPointerException     if either bound is null
+	 * @throws IllegalArgumentException if from is greater than to
+	 */
+	public Iterator<E> subTreeIterator( E from, E to ) throws NullPointerException, IllegalArgumentException;
+
+	/**
+	 * Generates an in-order iteration over the elements less than the element
+	 * passed in.
+	 * 
+	 * @param to the element the range stops before
+	 * @return an iterator with the elements of the range in their natural order
+	 * @throws NullPointerException if the bound is null
+	 */
+	public Iterator<E> headIterator( E to ) throws NullPointerException;
+
+	/**
+	 * Generates an in-order iteration over the elements greater than or equal
+	 * to the element passed in.
+	 * 
+	 * @param from the lowest element of the range
+	 * @return an iterator with the elements of the range in their natural order
+	 * @throws NullPointerException if the bound is null
+	 */
+	public Iterator<E> tailIterator( E from ) throws NullPointerException;
 }
@@ -0,0 +1,23 @@
+package utilities;
+
+/**
+ * Compares a lookup key against the elements of an ordered data structure, so
+ * that elements can be found by a key of a different type than the elements
+ * themselves. Implementations must order keys consistently with the natural
+ * ordering of the elements.
+ *
+ * @param <K> The type of key being looked up.
+ * @param <E> The type of element stored in the data structure.
+ */
+public interface KeyComparator<K, E>
+{
+	/**
+	 * Compares a key against an element.
+	 * 
+	 * @param key     the key being looked up
+	 * @param element the element being compared against
+	 * @return a negative integer, zero, or a positive integer as the key is less
+	 *         than, equal to, or greater than the key of the element
+	 */
+	public int compare( K key, E element );
+}
@@ -0,0 +1,1072 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.BSTree;
+import implementations.BSTreeNode;
+
+/**
+ * @author kitty, maryam
+ * @version 2.3 Nov 8, 2024 
+ * 
+ * Class Description: Linked-list-based implementation
+ * of the BSTreeADT defined in the CPRG 304 Assignment 3.
+ */
+
+public class BSTreeTest
+{
+	// Attributes
+	private BSTree<Integer> tree;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+	private Integer five;
+	private Integer six;
+	private Integer seven;
+
+	/**
+	 * Initializes a new BSTree instance and seven Integer instances before each
+	 * test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new BSTree<Integer>();
+		one = 11;
+		two = 22;
+		three = 33;
+		four = 44;
+		five = 55;
+		six = 66;
+		seven = 77;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+		five = null;
+		six = null;
+		seven = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#BSTree()} for creating a new
+	 * BSTree object with a size of zero.
+	 */
+	@Test
+	public void testBST_Constructor()
+	{
+		boolean expected = true;
+		boolean actual = tree != null;
+		assertEquals( "Failed to create tree.", expected, actual );
+		assertEquals( "Failed to return correct size.", 0, tree.size() );
+		assertEquals( "Height of tree should be ", 0, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * add an item to an empty BSTree.
+	 */
+	@Test
+	public void testBSTreeE()
+	{
+		int expected = 11;
+		int actual = 0;
+
+		BSTree<Integer> newTree = new BSTree<Integer>( one );
+
+		BSTreeNode<Integer> i = newTree.getRoot();
+		actual = i.getElement();
+
+		assertEquals( "Failed to add item correctly to root.", expected, actual );
+		assertEquals( "Size of tree should be ", 1, newTree.size() );
+		assertEquals( "Height of tree should be ", 1, newTree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * add an item to the left of the root.
+	 */
+	@Test
+	public void testAddNewElement_LeftChild()
+	{
+		int expected1 = 22;
+		int expected2 = 33;
+		BSTreeNode<Integer> v1 = null;
+		BSTreeNode<Integer> v2 = null;
+		tree.add( three );
+		assertTrue( tree.add( two ) );
+
+		v1 = tree.search( two );
+		v2 = tree.search( three );
+
+		int actual1 = v1.getElement();
+		int actual2 = v2.getElement();
+		assertEquals( "Failed to add element correctly.", expected1, actual1 );
+		assertEquals( "Failed to add element correctly.", expected2, actual2 );
+		assertEquals( "Failed to update size correctly.", 2, tree.size() );
+		assertEquals( "Failed to update height correctly.", 2, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * add an item to the right of the root.
+	 */
+	@Test
+	public void testAddNewElement_RightChild()
+	{
+		int expected = 44;
+		BSTreeNode<Integer> value = null;
+		tree.add( three );
+		assertTrue( tree.add( four ) );
+
+		value = tree.search( four );
+
+		int actual = value.getElement();
+		assertEquals( "Failed to add element correctly.", expected, actual );
+		assertEquals( "Failed to update size correctly.", 2, tree.size() );
+		assertEquals( "Failed to update height correctly.", 2, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * add many items to the tree.
+	 */
+	@Test
+	public void testAddNewElement_Many()
+	{
+		int expected = 77;
+		BSTreeNode<Integer> value = null;
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( seven );
+
+		value = tree.search( seven );
+
+		int actual = value.getElement();
+		assertEquals( "Failed to add element correctly.", expected, actual );
+		assertEquals( "Failed to update size correctly.", 6, tree.size() );
+		assertEquals( "Failed to update height correctly.", 3, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * throw a NullPointerException when passing a null.
+	 */
+	@Test
+	public void testAddNewElementForNullPointerException()
+	{
+		Integer value = null;
+		try
+		{
+			tree.add( value );
+			fail( "Add method failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#clear()} to clear the tree.
+	 */
+	@Test
+	public void testClear_Size()
+	{
+		tree.add( four );
+		tree.add( six );
+		tree.add( two );
+		tree.clear();
+		assertEquals( "Size of tree should be ", 0, tree.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#contains(java.larng.Comparable)} to return true
+	 * when the tree contains an item.
+	 */
+	@Test
+	public void testContainsForTrue()
+	{
+		tree.add( four );
+		tree.add( six );
+		tree.add( two );
+
+		assertTrue( "Failed to return true.", tree.contains( four ) );
+
+		assertTrue( "Failed to return true.", tree.contains( six ) );
+
+		assertTrue( "Failed to return true.", tree.contains( two ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#contains(java.larng.Comparable)} to return
+	 * false when the tree doesn't contains an item.
+	 */
+	@Test
+	public void testContainsForFalse()
+	{
+		tree.add( four );
+		tree.add( six );
+		tree.add( two );
+
+		assertFalse( "Failed to return false.", tree.contains( one ) );
+
+		assertFalse( "Failed to return false.", tree.contains( seven ) );
+
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#contains(java.larng.Comparable)} to throw a
+	 * NullPointerException when null is passed.
+	 */
+	@Test
+	public void testContainsForException()
+	{
+		try
+		{
+			tree.contains( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
+	 * to search for an item found at the root level.
+	 */
+	@Test
+	public void testSearch_Root()
+	{
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+
+		int expected = 11;
+		int actual = tree.search( one ).getElement();
+
+		assertEquals( "Failed to return the correct element.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
+	 * to search for an item found at level 2.
+	 */
+	@Test
+	public void testSearch_Level2()
+	{
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+
+		int expected = 22;
+		int actual = tree.search( two ).getElement();
+
+		assertEquals( "Failed to return the correct element.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
+	 * to search for an item found at level 3.
+	 */
+	@Test
+	public void testSearch_Level3()
+	{
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+
+		int expected = 33;
+		int actual = tree.search( three ).getElement();
+
+		assertEquals( "Failed to return the correct element.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
+	 * to return null when searching for an item not found.
+	 */
+	@Test
+	public void testSearch_NotFound()
+	{
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		tree.add( four );
+
+		Integer expected = null;
+		BSTreeNode<Integer> actual = tree.search( five );
+
+		assertEquals( "Failed to return null.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
+	 * to throw NullPointerException when searching for an item not found.
+	 */
+	@Test
+	public void testSearch_NullPointerException()
+	{
+		try
+		{
+			tree.search( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#getHeight()} to return the
+	 * height of a balanced tree.
+	 */
+	@Test
+	public void testGetHeight_Balanced()
+	{
+		tree.add( two );
+		tree.add( three );
+		tree.add( one );
+		tree.add( four );
+		int expected = 3;
+		int actual = tree.getHeight();
+		assertEquals( "Failed to return correct height.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#getHeight()} to return the
+	 * height of a ill-balanced tree.
+	 */
+	@Test
+	public void testGetHeight_IllBalanced()
+	{
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		tree.add( four );
+		tree.add( five );
+		tree.add( six );
+		tree.add( seven );
+		int expected = 7;
+		int actual = tree.getHeight();
+		assertEquals( "Failed to return correct height.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#getRoot()} to return the root
+	 * node of the tree.
+	 */
+	@Test
+	public void testGetRoot()
+	{
+		tree.add( three );
+		tree.add( two );
+		tree.add( four );
+		int expected = three;
+		int actual = tree.getRoot().getElement();
+
+		assertEquals( "Failed to return the root element.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#getRoot()} to throw
+	 * NullPointerException when getting the root of an empty tree.
+	 */
+	@Test
+	public void testGetRoot_NullPointerException()
+	{
+		try
+		{
+			tree.getRoot();
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#isEmpty()} to return true when
+	 * the tree is empty.
+	 */
+	@Test
+	public void testIsEmptyForTrue()
+	{
+		assertTrue( "Failed to return true.", tree.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#isEmpty()} to return false when
+	 * the tree is not empty.
+	 */
+	@Test
+	public void testIsEmptyForFalse()
+	{
+		tree.add( one );
+		assertFalse( "Failed to return false.", tree.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderIterator()} to return an
+	 * iterator to iterate over the tree using the in-order traversal.
+	 */
+	@Test
+	public void testInorderIterator()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		Integer[] shouldBe = { one, two, three, four, five, six, seven };
+		Iterator<Integer> it = tree.inorderIterator();
+		int i = 0;
+		boolean actual = true;
+		while( it.hasNext() )
+		{
+			if( it.next() != shouldBe[i++] )
+			{
+				actual = false;
+			}
+		}
+
+		assertEquals( "Failed to return the correct in-order iterator.", true, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#postorderIterator()} to return
+	 * an iterator to iterate over the tree using the post-order traversal.
+	 */
+	@Test
+	public void testPostorderIterator()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		Integer[] shouldBe = { one, three, two, five, seven, six, four };
+		Iterator<Integer> it = tree.postorderIterator();
+		int i = 0;
+		boolean actual = true;
+		while( it.hasNext() )
+		{
+			if( it.next() != shouldBe[i++] )
+			{
+				actual = false;
+			}
+		}
+
+		assertEquals( "Postorder iterator is out of order ", true, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#preorderIterator()} to return
+	 * an iterator to iterate over the tree using the pre-order traversal.
+	 */
+	@Test
+	public void testPreorderIterator()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		Integer[] shouldBe = { four, two, one, three, six, five, seven };
+		Iterator<Integer> it = tree.preorderIterator();
+		int i = 0;
+		boolean actual = true;
+		while( it.hasNext() )
+		{
+			if( it.next() != shouldBe[i++] )
+			{
+				actual = false;
+			}
+		}
+
+		assertEquals( "Preorder iterator is out of order ", true, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#size()} to return the size of a
+	 * non-empty tree.
+	 */
+	@Test
+	public void testSize()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+
+		int expected = 5;
+		int actual = tree.size();
+		assertEquals( "Failed to return correct size.", expected, actual );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} to return the
+	 * minimum value in the tree.
+	 */
+	@Test
+	public void testRemoveMin()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+
+		int expected = 11;
+		int expectedSize = 4;
+		
+		int actual = tree.removeMin().getElement();
+		assertEquals( "Failed to return minimum value.", expected, actual );
+		assertEquals( "Failed to update size.", expectedSize, tree.size() );
+		assertFalse( tree.contains( one ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} to return null
+	 * when tree is empty.
+	 */
+	@Test
+	public void testRemoveMinNull()
+	{
+		assertNull( "Failed to return null.", tree.removeMin() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMax()} to remove the
+	 * maximum value in the tree.
+	 */
+	@Test
+	public void testRemoveMax()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+
+		int expected = 66;
+		int expectedSize = 4;
+
+		int actual = tree.removeMax().getElement();
+		assertEquals( "Failed to remove the maximum value.", expected, actual );
+		assertEquals( "Failed to update size.", expectedSize, tree.size() );
+		assertFalse( tree.contains( six ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMax()} to return the
+	 * maximum value in the tree.
+	 */
+	@Test
+	public void testRemoveMaxNull()
+	{
+		assertNull( "Failed to return maximum value.", tree.removeMax() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#BSTree(boolean)} to keep the
+	 * height logarithmic when elements are added in ascending order.
+	 */
+	@Test
+	public void testAdd_BalancedAscending()
+	{
+		tree = new BSTree<Integer>( true );
+		for( int i = 1; i <= 1023; i++ )
+		{
+			tree.add( i );
+		}
+		int expected = 10;
+		int actual = tree.getHeight();
+		assertEquals( "Failed to keep the tree balanced.", expected, actual );
+		assertEquals( "Failed to update size.", 1023, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderIterator()} to return
+	 * elements in natural order after a balanced tree has been rotated.
+	 */
+	@Test
+	public void testInorderIterator_Balanced()
+	{
+		tree = new BSTree<Integer>( true );
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		tree.add( four );
+		tree.add( five );
+		tree.add( six );
+		tree.add( seven );
+
+		Integer[] shouldBe = { one, two, three, four, five, six, seven };
+		Iterator<Integer> it = tree.inorderIterator();
+		int i = 0;
+		boolean actual = true;
+		while( it.hasNext() )
+		{
+			if( it.next() != shouldBe[i++] )
+			{
+				actual = false;
+			}
+		}
+
+		assertEquals( "Failed to return the correct in-order iterator.", true, actual );
+		assertEquals( "Failed to rotate the root.", four, tree.getRoot().getElement() );
+		assertEquals( "Failed to keep the tree balanced.", 3, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} and
+	 * {@link implementations.BSTree#removeMax()} to keep a balanced tree balanced.
+	 */
+	@Test
+	public void testRemoveMinMax_Balanced()
+	{
+		tree = new BSTree<Integer>( true );
+		for( int i = 1; i <= 1023; i++ )
+		{
+			tree.add( i );
+		}
+		for( int i = 1; i <= 400; i++ )
+		{
+			assertEquals( "Failed to remove the minimum value.", i, (int) tree.removeMin().getElement() );
+		}
+		for( int i = 1023; i > 900; i-- )
+		{
+			assertEquals( "Failed to remove the maximum value.", i, (int) tree.removeMax().getElement() );
+		}
+		assertEquals( "Failed to update size.", 500, tree.size() );
+		assertTrue( "Failed to keep the tree balanced.", tree.getHeight() <= 10 );
+		assertTrue( tree.contains( 401 ) );
+		assertTrue( tree.contains( 900 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(Comparable)} to insert a
+	 * million ascending keys into a balanced tree without exhausting the stack.
+	 */
+	@Test
+	public void testAdd_MillionAscending()
+	{
+		tree = new BSTree<Integer>( true );
+		for( int i = 0; i < 1000000; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to update size.", 1000000, tree.size() );
+		assertEquals( "Failed to keep the tree balanced.", 20, tree.getHeight() );
+		assertTrue( tree.contains( 0 ) );
+		assertTrue( tree.contains( 999999 ) );
+		assertFalse( tree.contains( 1000000 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(Comparable)},
+	 * {@link implementations.BSTree#search(Comparable)} and
+	 * {@link implementations.BSTree#getHeight()} on a degenerate tree deep enough
+	 * to overflow the thread stack if any of them recursed.
+	 */
+	@Test
+	public void testAdd_DegenerateStackSafe()
+	{
+		int count = 20000;
+		for( int i = 0; i < count; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to return correct height.", count, tree.getHeight() );
+		assertEquals( "Failed to find the deepest node.", count - 1, (int) tree.search( count - 1 ).getElement() );
+		assertFalse( tree.add( count - 1 ) );
+		assertEquals( "Failed to remove the maximum value.", count - 1, (int) tree.removeMax().getElement() );
+		assertEquals( "Failed to update height.", count - 1, tree.getHeight() );
+		assertEquals( "Failed to remove the minimum value.", 0, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to update height.", count - 2, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#computeIfAbsent(Comparable, java.util.function.Function, java.util.function.Function)}
+	 * to insert a new element only when the key is missing.
+	 */
+	@Test
+	public void testComputeIfAbsent()
+	{
+		tree.add( two );
+		tree.add( one );
+		final int[] created = { 0 };
+		java.util.function.Function<Integer, Integer> factory = k -> {
+			created[0]++;
+			return k;
+		};
+
+		Integer existing = tree.computeIfAbsent( one, e -> e, factory );
+		assertSame( "Failed to return the existing element.", one, existing );
+		assertEquals( "Failed to skip the factory on a hit.", 0, created[0] );
+
+		Integer added = tree.computeIfAbsent( three, e -> e, factory );
+		assertSame( "Failed to return the new element.", three, added );
+		assertEquals( "Failed to call the factory once on a miss.", 1, created[0] );
+		assertEquals( "Failed to update size.", 3, tree.size() );
+		assertTrue( tree.contains( three ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#computeIfAbsent(Comparable, java.util.function.Function, java.util.function.Function)}
+	 * to keep a balanced tree balanced.
+	 */
+	@Test
+	public void testComputeIfAbsent_Balanced()
+	{
+		tree = new BSTree<Integer>( true );
+		for( int i = 1; i <= 1023; i++ )
+		{
+			tree.computeIfAbsent( i, e -> e, k -> k );
+		}
+		assertEquals( "Failed to update size.", 1023, tree.size() );
+		assertEquals( "Failed to keep the tree balanced.", 10, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#search(Object, utilities.KeyComparator)} to
+	 * find elements by a key of another type.
+	 */
+	@Test
+	public void testSearch_ByKey()
+	{
+		tree.add( three );
+		tree.add( one );
+		tree.add( five );
+		utilities.KeyComparator<String, Integer> byText = ( key, element ) -> Integer.compare( Integer.parseInt( key ),
+				element );
+
+		assertEquals( "Failed to find the element by key.", five, tree.search( "55", byText ).getElement() );
+		assertNull( "Failed to return null for a missing key.", tree.search( "44", byText ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#merge(BSTree, java.util.function.BinaryOperator)}
+	 * to join two trees into one balanced tree and combine colliding elements.
+	 */
+	@Test
+	public void testMerge()
+	{
+		for( int i = 0; i < 100; i += 2 )
+		{
+			tree.add( i );
+		}
+		BSTree<Integer> other = new BSTree<Integer>();
+		for( int i = 0; i < 150; i += 3 )
+		{
+			other.add( i );
+		}
+		final int[] combined = { 0 };
+		tree.merge( other, ( mine, theirs ) -> {
+			combined[0]++;
+			return mine;
+		} );
+
+		assertEquals( "Failed to combine colliding elements.", 17, combined[0] );
+		assertEquals( "Failed to update size.", 50 + 50 - 17, tree.size() );
+		assertEquals( "Failed to balance the merged tree.", 7, tree.getHeight() );
+		assertEquals( "Failed to leave the other tree unchanged.", 50, other.size() );
+		Iterator<Integer> it = tree.inorderIterator();
+		int previous = -1;
+		while( it.hasNext() )
+		{
+			int current = it.next();
+			assertTrue( "Failed to keep natural order.", current > previous );
+			previous = current;
+		}
+		assertEquals( "Failed to keep the largest element.", 147, previous );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#merge(BSTree, java.util.function.BinaryOperator)}
+	 * to merge into an empty tree.
+	 */
+	@Test
+	public void testMerge_IntoEmpty()
+	{
+		BSTree<Integer> other = new BSTree<Integer>();
+		other.add( two );
+		other.add( one );
+		tree.merge( other, ( mine, theirs ) -> mine );
+		assertEquals( "Failed to update size.", 2, tree.size() );
+		assertTrue( tree.contains( one ) );
+		assertTrue( tree.contains( two ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#fromSorted(Comparable[])} to
+	 * build a tree of minimal height from a sorted array.
+	 */
+	@Test
+	public void testFromSorted_Array()
+	{
+		Integer[] sorted = { one, two, three, four, five, six, seven };
+		tree = BSTree.fromSorted( sorted );
+		assertEquals( "Failed to update size.", 7, tree.size() );
+		assertEquals( "Failed to build a tree of minimal height.", 3, tree.getHeight() );
+		assertEquals( "Failed to place the middle element at the root.", four, tree.getRoot().getElement() );
+		assertTrue( "Failed to return a self-balancing tree.", tree.isBalanced() );
+		tree.add( 88 );
+		assertTrue( tree.contains( 88 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#fromSorted(Iterator, int)} to
+	 * build a tree of minimal height from a sorted iteration.
+	 */
+	@Test
+	public void testFromSorted_Iterator()
+	{
+		for( int i = 1; i <= 1000; i++ )
+		{
+			tree.add( i );
+		}
+		BSTree<Integer> rebuilt = BSTree.fromSorted( tree.inorderIterator(), tree.size() );
+		assertEquals( "Failed to update size.", 1000, rebuilt.size() );
+		assertEquals( "Failed to build a tree of minimal height.", 10, rebuilt.getHeight() );
+
+		Iterator<Integer> it = rebuilt.inorderIterator();
+		for( int i = 1; i <= 1000; i++ )
+		{
+			assertEquals( "Failed to keep natural order.", i, (int) it.next() );
+		}
+		assertFalse( it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#rebalance()} to rebuild a
+	 * degenerate tree in place.
+	 */
+	@Test
+	public void testRebalance()
+	{
+		for( int i = 1; i <= 1023; i++ )
+		{
+			tree.add( i );
+		}
+		tree.rebalance();
+		assertEquals( "Failed to rebalance the tree.", 10, tree.getHeight() );
+		assertEquals( "Failed to keep the size.", 1023, tree.size() );
+		assertEquals( "Failed to place the middle element at the root.", 512, (int) tree.getRoot().getElement() );
+		assertTrue( tree.contains( 1 ) );
+		assertTrue( tree.contains( 1023 ) );
+		tree.add( 2000 );
+		assertEquals( "Failed to update height after rebalancing.", 11, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#postorderIterator()} to visit
+	 * nodes with only a right child after that child.
+	 */
+	@Test
+	public void testPostorderIterator_RightChildren()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( three );
+		tree.add( six );
+		tree.add( seven );
+
+		Integer[] shouldBe = { three, two, seven, six, four };
+		Iterator<Integer> it = tree.postorderIterator();
+		for( Integer expected : shouldBe )
+		{
+			assertEquals( "Postorder iterator is out of order ", expected, it.next() );
+		}
+		assertFalse( it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderIterator(Comparable)},
+	 * {@link implementations.BSTree#preorderIterator(Comparable)} and
+	 * {@link implementations.BSTree#postorderIterator(Comparable)} to iterate
+	 * over the rest of the tree from an element, or from where it would be.
+	 */
+	@Test
+	public void testIterators_FromEntry()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		assertIterates( "Failed to return the correct in-order iterator.", tree.inorderIterator( six ), six, seven );
+		assertIterates( "Preorder iterator is out of order ", tree.preorderIterator( six ), six, five, seven );
+		assertIterates( "Postorder iterator is out of order ", tree.postorderIterator( six ), six, four );
+
+		// 50 would be the left child of 55
+		assertIterates( "Failed to start at the next element in order.", tree.inorderIterator( 50 ), five, six, seven );
+		assertIterates( "Failed to start after the missing element in pre-order.", tree.preorderIterator( 50 ), seven );
+		assertIterates( "Failed to start after the missing element in post-order.", tree.postorderIterator( 50 ), five,
+				seven, six, four );
+
+		// 5 would be the left child of 11
+		assertIterates( "Failed to start after the missing element in pre-order.", tree.preorderIterator( 5 ), three, six,
+				five, seven );
+		assertIterates( "Failed to start after the missing element in post-order.", tree.postorderIterator( 5 ), one,
+				three, two, five, seven, six, four );
+
+		assertFalse( "Failed to return an empty iterator.", tree.inorderIterator( 99 ).hasNext() );
+		assertFalse( "Failed to return an empty iterator.", tree.preorderIterator( 99 ).hasNext() );
+		assertIterates( "Failed to start after the missing element in post-order.", tree.postorderIterator( 99 ), seven,
+				six, four );
+
+		try
+		{
+			tree.inorderIterator( null );
+			fail( "Failed to throw a NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Checks that an iterator returns exactly the given elements, in order.
+	 */
+	private static void assertIterates( String message, Iterator<Integer> it, Integer... expected )
+	{
+		for( Integer element : expected )
+		{
+			assertTrue( message, it.hasNext() );
+			assertEquals( message, element, it.next() );
+		}
+		assertFalse( message, it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#floor(Comparable)},
+	 * {@link implementations.BSTree#ceiling(Comparable)},
+	 * {@link implementations.BSTree#lower(Comparable)} and
+	 * {@link implementations.BSTree#higher(Comparable)} to find the closest
+	 * elements on either side.
+	 */
+	@Test
+	public void testFloorCeilingLowerHigher()
+	{
+		for( int i = 10; i <= 100; i += 10 )
+		{
+			tree.add( i );
+		}
+
+		assertEquals( "Failed to return the floor.", 40, (int) tree.floor( 45 ).getElement() );
+		assertEquals( "Failed to return an equal floor.", 40, (int) tree.floor( 40 ).getElement() );
+		assertEquals( "Failed to return the ceiling.", 50, (int) tree.ceiling( 45 ).getElement() );
+		assertEquals( "Failed to return an equal ceiling.", 40, (int) tree.ceiling( 40 ).getElement() );
+		assertEquals( "Failed to return the lower element.", 30, (int) tree.lower( 40 ).getElement() );
+		assertEquals( "Failed to return the higher element.", 50, (int) tree.higher( 40 ).getElement() );
+		assertNull( "Failed to return null below the smallest element.", tree.floor( 5 ) );
+		assertNull( "Failed to return null below the smallest element.", tree.lower( 10 ) );
+		assertNull( "Failed to return null above the largest element.", tree.ceiling( 105 ) );
+		assertNull( "Failed to return null above the largest element.", tree.higher( 100 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#subTreeIterator(Comparable, Comparable)},
+	 * {@link implementations.BSTree#headIterator(Comparable)} and
+	 * {@link implementations.BSTree#tailIterator(Comparable)} to iterate over
+	 * only the elements in a range.
+	 */
+	@Test
+	public void testRangeIterators()
+	{
+		for( int i = 1; i <= 100; i++ )
+		{
+			tree.add( i * 2 );
+		}
+
+		Iterator<Integer> it = tree.subTreeIterator( 51, 60 );
+		for( int i = 52; i < 60; i += 2 )
+		{
+			assertEquals( "Failed to return the range in order.", i, (int) it.next() );
+		}
+		assertFalse( "Failed to stop before the end of the range.", it.hasNext() );
+
+		it = tree.headIterator( 6 );
+		assertEquals( "Failed to start the head at the first element.", 2, (int) it.next() );
+		assertEquals( "Failed to return the head in order.", 4, (int) it.next() );
+		assertFalse( "Failed to stop before the bound.", it.hasNext() );
+
+		it = tree.tailIterator( 196 );
+		assertEquals( "Failed to include an equal bound.", 196, (int) it.next() );
+		assertEquals( "Failed to return the tail in order.", 198, (int) it.next() );
+		assertEquals( "Failed to return the tail in order.", 200, (int) it.next() );
+		assertFalse( "Failed to stop at the last element.", it.hasNext() );
+
+		assertFalse( "Failed to return an empty range.", tree.subTreeIterator( 11, 11 ).hasNext() );
+		assertFalse( "Failed to return an empty range.", tree.tailIterator( 201 ).hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#subTreeIterator(Comparable, Comparable)}
+	 * to reject bounds in the wrong order.
+	 */
+	@Test
+	public void testSubTreeIterator_Reversed()
+	{
+		try
+		{
+			tree.subTreeIterator( 5, 4 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.ConcurrentBSTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the thread-safe sorted tree used for shared
+ * multi-threaded ingestion.
+ */
+public class ConcurrentBSTreeTest
+{
+	// Attributes
+	private ConcurrentBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new, empty ConcurrentBSTree before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new ConcurrentBSTree<Integer>();
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#add(java.lang.Comparable)}
+	 * to keep the elements sorted and reject duplicates.
+	 */
+	@Test
+	public void testAdd()
+	{
+		int[] values = { 50, 30, 70, 20, 40, 60, 80 };
+		for( int value : values )
+		{
+			assertTrue( "Failed to add the element.", tree.add( value ) );
+		}
+		assertFalse( "Failed to reject a duplicate.", tree.add( 40 ) );
+		assertEquals( "Failed to count the elements.", 7, tree.size() );
+		assertEquals( "Failed to report the balanced height.", 3, tree.getHeight() );
+		assertEquals( "Failed to return the middle element as root.", 50, (int) tree.getRoot().getElement() );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		int previous = Integer.MIN_VALUE;
+		while( it.hasNext() )
+		{
+			int next = it.next();
+			assertTrue( "Failed to iterate in order.", next > previous );
+			previous = next;
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#removeMin()} and
+	 * {@link implementations.ConcurrentBSTree#removeMax()} to remove the
+	 * smallest and largest elements.
+	 */
+	@Test
+	public void testRemoveMinMax()
+	{
+		assertNull( "Failed to return null on an empty tree.", tree.removeMin() );
+		for( int i = 1; i <= 5; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( 1, (int) tree.removeMin().getElement() );
+		assertEquals( 5, (int) tree.removeMax().getElement() );
+		assertEquals( "Failed to update the size.", 3, tree.size() );
+		tree.clear();
+		assertTrue( "Failed to clear the tree.", tree.isEmpty() );
+		assertEquals( "Failed to reset the size.", 0, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#addIfAbsent(java.lang.Comparable)}
+	 * to lose no elements and count each once when threads add overlapping
+	 * ranges at the same time.
+	 */
+	@Test
+	public void testAdd_Concurrent() throws InterruptedException
+	{
+		Thread[] threads = new Thread[4];
+		for( int t = 0; t < threads.length; t++ )
+		{
+			int offset = t * 5000;
+			threads[t] = new Thread( () -> {
+				for( int i = 0; i < 10000; i++ )
+				{
+					tree.addIfAbsent( offset + i );
+				}
+			} );
+			threads[t].start();
+		}
+		for( Thread thread : threads )
+		{
+			thread.join();
+		}
+		assertEquals( "Failed to count each element once.", 25000, tree.size() );
+		for( int i = 0; i < 25000; i += 999 )
+		{
+			assertTrue( "Failed to keep every element.", tree.contains( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * to throw NullPointerException for null.
+	 */
+	@Test( expected = NullPointerException.class )
+	public void testSearch_Null()
+	{
+		tree.search( null );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * and {@link implementations.ConcurrentBSTree#ceiling(Comparable)} to
+	 * return the same node for an element each time.
+	 */
+	@Test
+	public void testSearch_SameNode()
+	{
+		tree.add( 10 );
+		tree.add( 20 );
+		assertSame( "Failed to return the same node.", tree.search( 20 ), tree.search( 20 ) );
+		assertSame( "Failed to return the same node.", tree.search( 20 ), tree.ceiling( 15 ) );
+		assertSame( "Failed to return the removed node.", tree.search( 20 ), tree.removeMax() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#floor(Comparable)}
+	 * and {@link implementations.ConcurrentBSTree#subTreeIterator(Comparable, Comparable)}
+	 * to seek into the sorted elements.
+	 */
+	@Test
+	public void testFloorAndRange()
+	{
+		for( int i = 10; i <= 100; i += 10 )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to return the floor.", 40, (int) tree.floor( 45 ).getElement() );
+		assertEquals( "Failed to return the higher element.", 50, (int) tree.higher( 40 ).getElement() );
+		assertNull( "Failed to return null below the smallest element.", tree.lower( 10 ) );
+
+		Iterator<Integer> it = tree.subTreeIterator( 25, 50 );
+		assertEquals( "Failed to return the range in order.", 30, (int) it.next() );
+		assertEquals( "Failed to return the range in order.", 40, (int) it.next() );
+		assertFalse( "Failed to stop before the end of the range.", it.hasNext() );
+	}
+}
@@ -1,8 +0,0 @@
-
-public class WordTracker {
-
-	public WordTracker() {
-		// TODO Auto-generated constructor stub
-	}
-
-}